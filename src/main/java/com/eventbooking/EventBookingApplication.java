@@ -1,12 +1,18 @@
 package com.eventbooking;
 
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+/**
+ * Server push is enabled so the waiting room can show queue positions live
+ */
 @SpringBootApplication
 @EnableScheduling
-public class EventBookingApplication {
+@Push
+public class EventBookingApplication implements AppShellConfigurator {
 
     public static void main(String[] args) {
         SpringApplication.run(EventBookingApplication.class, args);
@@ -10,6 +10,7 @@ import com.eventbooking.domain.enums.StatutReservation;
 import com.eventbooking.repository.EventRepository;
 import com.eventbooking.repository.ReservationRepository;
 import com.eventbooking.repository.UserRepository;
+import com.eventbooking.service.ReservationCodeGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -18,7 +19,9 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -29,6 +32,7 @@ public class DataLoader implements CommandLineRunner {
         private final EventRepository eventRepository;
         private final ReservationRepository reservationRepository;
         private final PasswordEncoder passwordEncoder;
+        private final ReservationCodeGenerator codeGenerator;
 
         @Override
         public void run(String... args) {
@@ -129,29 +133,39 @@ public class DataLoader implements CommandLineRunner {
                                 "Palais des Congrès", "Marrakech", 5000, 150.0, org2, StatutEvent.BROUILLON));
 
                 // Save events
-                events.forEach(eventRepository::save);
+                eventRepository.saveAll(events);
 
                 // Create reservations
-                createReservation(client1, events.get(0), 2, StatutReservation.CONFIRMEE);
-                createReservation(client2, events.get(0), 4, StatutReservation.CONFIRMEE);
-                createReservation(client1, events.get(1), 1, StatutReservation.EN_ATTENTE);
-                createReservation(client2, events.get(3), 3, StatutReservation.CONFIRMEE);
-                createReservation(client1, events.get(4), 2, StatutReservation.CONFIRMEE);
-                createReservation(client2, events.get(5), 5, StatutReservation.CONFIRMEE);
-                createReservation(client1, events.get(6), 1, StatutReservation.CONFIRMEE);
-                createReservation(client2, events.get(7), 2, StatutReservation.EN_ATTENTE);
-                createReservation(client1, events.get(9), 3, StatutReservation.CONFIRMEE);
-                createReservation(client2, events.get(10), 1, StatutReservation.CONFIRMEE);
-                createReservation(client1, events.get(11), 4, StatutReservation.CONFIRMEE);
-                createReservation(client2, events.get(12), 2, StatutReservation.CONFIRMEE);
-                createReservation(client1, events.get(13), 1, StatutReservation.ANNULEE);
-                createReservation(client2, events.get(1), 2, StatutReservation.CONFIRMEE);
-                createReservation(client1, events.get(3), 3, StatutReservation.CONFIRMEE);
-                createReservation(client2, events.get(4), 1, StatutReservation.EN_ATTENTE);
-                createReservation(client1, events.get(6), 2, StatutReservation.CONFIRMEE);
-                createReservation(client2, events.get(9), 4, StatutReservation.CONFIRMEE);
-                createReservation(client1, events.get(11), 1, StatutReservation.CONFIRMEE);
-                createReservation(client2, events.get(12), 3, StatutReservation.CONFIRMEE);
+                List<Reservation> reservations = new ArrayList<>();
+                reservations.add(createReservation(client1, events.get(0), 2, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client2, events.get(0), 4, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client1, events.get(1), 1, StatutReservation.EN_ATTENTE));
+                reservations.add(createReservation(client2, events.get(3), 3, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client1, events.get(4), 2, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client2, events.get(5), 5, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client1, events.get(6), 1, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client2, events.get(7), 2, StatutReservation.EN_ATTENTE));
+                reservations.add(createReservation(client1, events.get(9), 3, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client2, events.get(10), 1, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client1, events.get(11), 4, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client2, events.get(12), 2, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client1, events.get(13), 1, StatutReservation.ANNULEE));
+                reservations.add(createReservation(client2, events.get(1), 2, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client1, events.get(3), 3, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client2, events.get(4), 1, StatutReservation.EN_ATTENTE));
+                reservations.add(createReservation(client1, events.get(6), 2, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client2, events.get(9), 4, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client1, events.get(11), 1, StatutReservation.CONFIRMEE));
+                reservations.add(createReservation(client2, events.get(12), 3, StatutReservation.CONFIRMEE));
+
+                // Insert reservations in JDBC batches, then bump the counters once per event
+                reservationRepository.saveAll(reservations);
+                Map<Long, Integer> placesByEvent = new HashMap<>();
+                reservations.stream()
+                                .filter(r -> r.getStatut().occupiesSeats())
+                                .forEach(r -> placesByEvent.merge(r.getEvenement().getId(), r.getNombrePlaces(),
+                                                Integer::sum));
+                placesByEvent.forEach(eventRepository::adjustPlacesReservees);
         }
 
         private User createUser(String nom, String prenom, String email, String password, Role role) {
@@ -192,15 +206,15 @@ public class DataLoader implements CommandLineRunner {
                 return event;
         }
 
-        private void createReservation(User utilisateur, Event evenement, Integer nombrePlaces,
+        private Reservation createReservation(User utilisateur, Event evenement, Integer nombrePlaces,
                         StatutReservation statut) {
-                Reservation reservation = Reservation.builder()
+                return Reservation.builder()
                                 .utilisateur(utilisateur)
                                 .evenement(evenement)
                                 .nombrePlaces(nombrePlaces)
                                 .statut(statut)
+                                .codeReservation(codeGenerator.nextCode())
                                 .dateReservation(LocalDateTime.now())
                                 .build();
-                reservationRepository.save(reservation);
         }
 }
@@ -2,16 +2,25 @@ package com.eventbooking.domain.entity;
 
 import com.eventbooking.domain.enums.Categorie;
 import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.VilleMaroc;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Entity
-@Table(name = "events")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_search", columnList = "statut, categorie, ville, date_debut, prix_unitaire")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +29,8 @@ import java.util.List;
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le titre est obligatoire")
@@ -53,6 +63,15 @@ public class Event {
     @Column(nullable = false)
     private String ville;
 
+    /**
+     * City centre coordinates from the local gazetteer (null for an unknown city)
+     */
+    @Setter(AccessLevel.NONE)
+    private Double latitude;
+
+    @Setter(AccessLevel.NONE)
+    private Double longitude;
+
     @NotNull(message = "La capacité maximale est obligatoire")
     @Min(value = 1, message = "La capacité doit être au moins 1")
     @Column(nullable = false)
@@ -65,6 +84,24 @@ public class Event {
 
     private String imageUrl;
 
+    /**
+     * Denormalized count of places held by non-cancelled reservations.
+     * Only written through the atomic counter updates of EventRepository.
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer placesReservees = 0;
+
+    /**
+     * Flash sale mode: seats are accounted in memory and reservations written in batches.
+     * Only toggled through EventRepository, like the counter above.
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("false")
+    @Builder.Default
+    private Boolean modeVenteFlash = false;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "organisateur_id", nullable = false)
     @ToString.Exclude
@@ -84,16 +121,41 @@ public class Event {
     @ToString.Exclude
     private List<Reservation> reservations = new ArrayList<>();
 
+    /**
+     * Available places, read from the maintained counter
+     */
+    public int getPlacesDisponibles() {
+        return capaciteMax - placesReservees;
+    }
+
+    public void setVille(String ville) {
+        this.ville = ville;
+        updateCoordinates();
+    }
+
     @PrePersist
     protected void onCreate() {
         dateCreation = LocalDateTime.now();
+        if (placesReservees == null) {
+            placesReservees = 0;
+        }
+        if (modeVenteFlash == null) {
+            modeVenteFlash = false;
+        }
         if (statut == null) {
             statut = StatutEvent.BROUILLON;
         }
+        updateCoordinates();
     }
 
     @PreUpdate
     protected void onUpdate() {
         dateModification = LocalDateTime.now();
     }
+
+    private void updateCoordinates() {
+        Optional<VilleMaroc> centre = VilleMaroc.of(ville);
+        latitude = centre.map(VilleMaroc::getLatitude).orElse(null);
+        longitude = centre.map(VilleMaroc::getLongitude).orElse(null);
+    }
 }
@@ -6,10 +6,11 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
-import java.util.Random;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_date", columnList = "date_reservation, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +19,8 @@ import java.util.Random;
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -53,28 +55,25 @@ public class Reservation {
     @Column(length = 500)
     private String commentaire;
 
+    /**
+     * Client-generated key of the submission; a retried submission returns this reservation
+     */
+    @Column(length = 64, unique = true)
+    private String cleIdempotence;
+
     @PrePersist
     protected void onCreate() {
-        dateReservation = LocalDateTime.now();
+        if (dateReservation == null) {
+            dateReservation = LocalDateTime.now();
+        }
 
         if (statut == null) {
             statut = StatutReservation.EN_ATTENTE;
         }
 
-        // Generate unique reservation code
-        if (codeReservation == null) {
-            codeReservation = generateReservationCode();
-        }
-
         // Calculate total amount
         if (evenement != null && nombrePlaces != null) {
             montantTotal = evenement.getPrixUnitaire() * nombrePlaces;
         }
     }
-
-    private String generateReservationCode() {
-        Random random = new Random();
-        int randomNumber = 10000 + random.nextInt(90000); // 5-digit number
-        return "EVT-" + randomNumber;
-    }
 }
@@ -4,13 +4,23 @@ import com.eventbooking.domain.enums.Role;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_actif", columnList = "role, actif"),
+        @Index(name = "idx_users_nom_recherche", columnList = "nom_recherche"),
+        @Index(name = "idx_users_prenom_recherche", columnList = "prenom_recherche")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +29,8 @@ import java.util.List;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le nom est obligatoire")
@@ -52,6 +63,17 @@ public class User {
 
     private String telephone;
 
+    /**
+     * Lower-cased, accent-free copies of nom and prenom for indexed prefix search
+     */
+    @Column(name = "nom_recherche")
+    @Setter(AccessLevel.NONE)
+    private String nomRecherche;
+
+    @Column(name = "prenom_recherche")
+    @Setter(AccessLevel.NONE)
+    private String prenomRecherche;
+
     @OneToMany(mappedBy = "organisateur", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
     @ToString.Exclude
@@ -70,5 +92,24 @@ public class User {
         if (actif == null) {
             actif = true;
         }
+        updateSearchKeys();
+    }
+
+    @PreUpdate
+    protected void updateSearchKeys() {
+        nomRecherche = searchKey(nom);
+        prenomRecherche = searchKey(prenom);
+    }
+
+    /**
+     * Search form of a name: trimmed, lower case, without accents
+     */
+    public static String searchKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        return Normalizer.normalize(value.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,67 @@
+package com.eventbooking.domain.entity;
+
+import com.eventbooking.domain.enums.StatutListeAttente;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A client waiting for places on a sold out event, served in FIFO (id) order
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_event_statut_id", columnList = "evenement_id, statut, id"),
+        @Index(name = "idx_waitlist_utilisateur", columnList = "utilisateur_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(exclude = { "utilisateur", "evenement" })
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_seq")
+    @SequenceGenerator(name = "waitlist_seq", sequenceName = "waitlist_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "utilisateur_id", nullable = false)
+    @ToString.Exclude
+    private User utilisateur;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "evenement_id", nullable = false)
+    @ToString.Exclude
+    private Event evenement;
+
+    @NotNull(message = "Le nombre de places est obligatoire")
+    @Min(value = 1, message = "Le nombre de places doit être au moins 1")
+    @Max(value = 10, message = "Le nombre de places ne peut pas dépasser 10")
+    @Column(nullable = false)
+    private Integer nombrePlaces;
+
+    @Column(nullable = false)
+    private LocalDateTime dateInscription;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatutListeAttente statut;
+
+    /**
+     * Code of the reservation created on promotion
+     */
+    private String codeReservation;
+
+    @PrePersist
+    protected void onCreate() {
+        if (dateInscription == null) {
+            dateInscription = LocalDateTime.now();
+        }
+        if (statut == null) {
+            statut = StatutListeAttente.EN_ATTENTE;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventbooking.domain.enums;
+
+public enum StatutListeAttente {
+    EN_ATTENTE("En attente", "#FF9800"),
+    PROMUE("Place attribuée", "#4CAF50"),
+    ANNULEE("Annulée", "#F44336");
+
+    private final String label;
+    private final String color;
+
+    StatutListeAttente(String label, String color) {
+        this.label = label;
+        this.color = color;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getColor() {
+        return color;
+    }
+}
@@ -26,4 +26,8 @@ public enum StatutReservation {
     public boolean canCancel() {
         return canCancel;
     }
+
+    public boolean occupiesSeats() {
+        return this != ANNULEE;
+    }
 }
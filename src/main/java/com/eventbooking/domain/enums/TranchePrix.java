@@ -0,0 +1,45 @@
+package com.eventbooking.domain.enums;
+
+public enum TranchePrix {
+    MOINS_100("Moins de 100 DH", 0.0, 100.0),
+    DE_100_A_300("100 à 300 DH", 100.0, 300.0),
+    DE_300_A_500("300 à 500 DH", 300.0, 500.0),
+    PLUS_500("500 DH et plus", 500.0, null);
+
+    private final String label;
+    private final Double min;
+    private final Double max;
+
+    TranchePrix(String label, Double min, Double max) {
+        this.label = label;
+        this.min = min;
+        this.max = max;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Lower bound, inclusive
+     */
+    public Double getMin() {
+        return min;
+    }
+
+    /**
+     * Upper bound, exclusive (null for none)
+     */
+    public Double getMax() {
+        return max;
+    }
+
+    public static TranchePrix of(double prix) {
+        for (TranchePrix tranche : values()) {
+            if (tranche.max == null || prix < tranche.max) {
+                return tranche;
+            }
+        }
+        return PLUS_500;
+    }
+}
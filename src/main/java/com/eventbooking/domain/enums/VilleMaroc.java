@@ -0,0 +1,92 @@
+package com.eventbooking.domain.enums;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local gazetteer of Moroccan cities (city centre coordinates), no geocoding service needed
+ */
+public enum VilleMaroc {
+    AGADIR("Agadir", 30.4278, -9.5981),
+    AL_HOCEIMA("Al Hoceïma", 35.2517, -3.9372),
+    ASILAH("Asilah", 35.4650, -6.0343),
+    AZILAL("Azilal", 31.9669, -6.5694),
+    BENI_MELLAL("Béni Mellal", 32.3373, -6.3498),
+    BENSLIMANE("Benslimane", 33.6180, -7.1210),
+    CASABLANCA("Casablanca", 33.5731, -7.5898),
+    CHEFCHAOUEN("Chefchaouen", 35.1688, -5.2636),
+    DAKHLA("Dakhla", 23.6848, -15.9580),
+    EL_JADIDA("El Jadida", 33.2316, -8.5007),
+    ERRACHIDIA("Errachidia", 31.9314, -4.4249),
+    ESSAOUIRA("Essaouira", 31.5085, -9.7595),
+    FES("Fès", 34.0331, -5.0003),
+    GUELMIM("Guelmim", 28.9870, -10.0574),
+    IFRANE("Ifrane", 33.5228, -5.1106),
+    KENITRA("Kénitra", 34.2610, -6.5802),
+    KHOURIBGA("Khouribga", 32.8811, -6.9063),
+    LAAYOUNE("Laâyoune", 27.1253, -13.1625),
+    LARACHE("Larache", 35.1932, -6.1557),
+    MARRAKECH("Marrakech", 31.6295, -7.9811),
+    MEKNES("Meknès", 33.8935, -5.5473),
+    MERZOUGA("Merzouga", 31.0802, -4.0134),
+    MOHAMMEDIA("Mohammedia", 33.6866, -7.3830),
+    NADOR("Nador", 35.1681, -2.9335),
+    OUARZAZATE("Ouarzazate", 30.9189, -6.8934),
+    OUJDA("Oujda", 34.6814, -1.9086),
+    RABAT("Rabat", 34.0209, -6.8416),
+    SAFI("Safi", 32.2994, -9.2372),
+    SALE("Salé", 34.0531, -6.7985),
+    SETTAT("Settat", 33.0010, -7.6166),
+    SKHIRAT("Skhirat", 33.8520, -7.0300),
+    TANGER("Tanger", 35.7595, -5.8340),
+    TAROUDANT("Taroudant", 30.4703, -8.8770),
+    TAZA("Taza", 34.2100, -4.0100),
+    TETOUAN("Tétouan", 35.5889, -5.3626),
+    TIZNIT("Tiznit", 29.6974, -9.7316);
+
+    private static final Map<String, VilleMaroc> BY_KEY = new HashMap<>();
+
+    static {
+        for (VilleMaroc ville : values()) {
+            BY_KEY.put(key(ville.label), ville);
+        }
+    }
+
+    private final String label;
+    private final double latitude;
+    private final double longitude;
+
+    VilleMaroc(String label, double latitude, double longitude) {
+        this.label = label;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * City matching a free-text name, accents, case and separators ignored ("fes", "Fès", "FES")
+     */
+    public static Optional<VilleMaroc> of(String ville) {
+        return ville == null ? Optional.empty() : Optional.ofNullable(BY_KEY.get(key(ville)));
+    }
+
+    private static String key(String ville) {
+        return Normalizer.normalize(ville, Normalizer.Form.NFD)
+                .replaceAll("[^\\p{L}]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,20 +4,98 @@ import com.eventbooking.domain.entity.Event;
 import com.eventbooking.domain.entity.User;
 import com.eventbooking.domain.enums.Categorie;
 import com.eventbooking.domain.enums.StatutEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+
+    /**
+     * Searchable columns of events after a given id (keyset page):
+     * id, titre, description, lieu, ville, statut, categorie
+     */
+    @Query("SELECT e.id, e.titre, e.description, e.lieu, e.ville, e.statut, e.categorie FROM Event e "
+            + "WHERE e.id > :afterId ORDER BY e.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Periods of events after a given id (keyset page): id, dateDebut, dateFin, statut
+     */
+    @Query("SELECT e.id, e.dateDebut, e.dateFin, e.statut FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+    List<Object[]> findPeriodsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Places of published events after a given id (keyset page): id, ville, categorie, lieu
+     */
+    @Query("SELECT e.id, e.ville, e.categorie, e.lieu FROM Event e WHERE e.statut = 'PUBLIE' AND e.id > :afterId "
+            + "ORDER BY e.id")
+    List<Object[]> findPublishedPlacesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Venue bookings of events of a statut after a given id (keyset page): id, lieu, ville, dateDebut, dateFin
+     */
+    @Query("SELECT e.id, e.lieu, e.ville, e.dateDebut, e.dateFin FROM Event e "
+            + "WHERE e.statut = :statut AND e.id > :afterId ORDER BY e.id")
+    List<Object[]> findVenueBookingsAfter(@Param("statut") StatutEvent statut, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Locations of events after a given id (keyset page): id, latitude, longitude, statut, categorie
+     */
+    @Query("SELECT e.id, e.latitude, e.longitude, e.statut, e.categorie FROM Event e "
+            + "WHERE e.id > :afterId ORDER BY e.id")
+    List<Object[]> findLocationsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Reserved places of every published event: id, placesReservees
+     */
+    @Query("SELECT e.id, e.placesReservees FROM Event e WHERE e.statut = 'PUBLIE'")
+    List<Object[]> findReservedPlacesOfPublishedEvents();
+
+    /**
+     * Number of events per categorie, ville and prix, for a statut (null for any): categorie, ville, prix, count
+     */
+    @Query("SELECT e.categorie, e.ville, e.prixUnitaire, COUNT(e) FROM Event e "
+            + "WHERE :statut IS NULL OR e.statut = :statut GROUP BY e.categorie, e.ville, e.prixUnitaire")
+    List<Object[]> countByCategorieVilleAndPrix(@Param("statut") StatutEvent statut);
+
+    /**
+     * Find events matching a specification, organizer fetched in the same query
+     */
+    @Override
+    @EntityGraph(attributePaths = "organisateur")
+    List<Event> findAll(Specification<Event> spec);
+
+    /**
+     * One page of the events matching a specification, organizer fetched in the same query
+     */
+    @Override
+    @EntityGraph(attributePaths = "organisateur")
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
 
     /**
      * Find events by categorie
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Event> findByCategorie(Categorie categorie);
 
     /**
@@ -25,6 +103,12 @@ public interface EventRepository extends JpaRepository<Event, Long> {
      */
     List<Event> findByStatutAndDateDebutBetween(StatutEvent statut, LocalDateTime start, LocalDateTime end);
 
+    /**
+     * First page of the events of a statut starting between two dates, soonest first
+     */
+    List<Event> findByStatutAndDateDebutBetweenOrderByDateDebutAsc(StatutEvent statut, LocalDateTime start,
+            LocalDateTime end, Pageable pageable);
+
     /**
      * Find events by organizer with given statut
      */
@@ -34,18 +118,15 @@ public interface EventRepository extends JpaRepository<Event, Long> {
      * Find available events (published and not terminated)
      */
     @Query("SELECT e FROM Event e WHERE e.statut = 'PUBLIE' AND e.statut != 'TERMINE'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Event> findAvailableEvents();
 
     /**
      * Count events by categorie
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     long countByCategorie(Categorie categorie);
 
-    /**
-     * Find events by lieu or ville
-     */
-    List<Event> findByLieuContainingIgnoreCaseOrVilleContainingIgnoreCase(String lieu, String ville);
-
     /**
      * Search events by title (containing keyword)
      */
@@ -60,4 +141,75 @@ public interface EventRepository extends JpaRepository<Event, Long> {
      * Find all events by organizer
      */
     List<Event> findByOrganisateur(User organizer);
+
+    /**
+     * Atomically adjust the reserved places counter of an event
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.placesReservees = e.placesReservees + :delta WHERE e.id = :id")
+    int adjustPlacesReservees(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Atomically reserve places on a published event if enough remain once the
+     * places held by other buyers are set aside.
+     * Returns 0 when the event is sold out, not bookable or in flash sale mode.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.placesReservees = e.placesReservees + :places WHERE e.id = :id "
+            + "AND e.statut = 'PUBLIE' AND e.modeVenteFlash = false "
+            + "AND e.capaciteMax - e.placesReservees - :held >= :places")
+    int reservePlaces(@Param("id") Long id, @Param("places") int places, @Param("held") int held);
+
+    /**
+     * Events whose reserved places counter differs from their reservations, both read by the same
+     * statement: id, titre, placesReservees, reserved places of the non-cancelled reservations
+     */
+    @Query("SELECT e.id, e.titre, e.placesReservees, COALESCE(SUM(r.nombrePlaces), 0) FROM Event e "
+            + "LEFT JOIN Reservation r ON r.evenement = e AND r.statut != 'ANNULEE' "
+            + "GROUP BY e.id, e.titre, e.placesReservees "
+            + "HAVING e.placesReservees <> COALESCE(SUM(r.nombrePlaces), 0)")
+    List<Object[]> findPlacesReserveesDrifts();
+
+    /**
+     * Rebuild the reserved places counter of an event from its reservations
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.placesReservees = (SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r "
+            + "WHERE r.evenement.id = e.id AND r.statut != 'ANNULEE') WHERE e.id = :id")
+    int recomputePlacesReservees(@Param("id") Long id);
+
+    /**
+     * Read the available places straight from the database
+     */
+    @Query("SELECT e.capaciteMax - e.placesReservees FROM Event e WHERE e.id = :id")
+    int findPlacesDisponibles(@Param("id") Long id);
+
+    /**
+     * Read the available places straight from the database, empty if the event does not exist
+     */
+    @Query("SELECT e.capaciteMax - e.placesReservees FROM Event e WHERE e.id = :id")
+    Optional<Integer> findPlacesDisponiblesById(@Param("id") Long id);
+
+    /**
+     * Toggle flash sale mode
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.modeVenteFlash = :enabled WHERE e.id = :id")
+    int setModeVenteFlash(@Param("id") Long id, @Param("enabled") boolean enabled);
+
+    /**
+     * Find events in flash sale mode
+     */
+    List<Event> findByModeVenteFlashTrue();
+
+    /**
+     * Lock events for update, in id order to avoid deadlocks between group bookings
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id IN :ids ORDER BY e.id")
+    List<Event> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,66 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Search criteria on events, translated into SQL predicates.
+ * A null argument means "no filter": the specification adds no predicate.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * All filters of the event search combined (predicates follow the idx_events_search column order)
+     */
+    public static Specification<Event> matching(StatutEvent statut, Categorie categorie, String ville,
+            LocalDateTime dateDebut, LocalDateTime dateFin, Double prixMin, Double prixMax) {
+        return Specification.allOf(List.of(
+                hasStatut(statut),
+                hasCategorie(categorie),
+                inVille(ville),
+                startsAfter(dateDebut),
+                endsBefore(dateFin),
+                priceAtLeast(prixMin),
+                priceAtMost(prixMax)));
+    }
+
+    public static Specification<Event> hasStatut(StatutEvent statut) {
+        return (root, query, cb) -> statut == null ? null : cb.equal(root.get("statut"), statut);
+    }
+
+    public static Specification<Event> hasCategorie(Categorie categorie) {
+        return (root, query, cb) -> categorie == null ? null : cb.equal(root.get("categorie"), categorie);
+    }
+
+    /**
+     * City, case-insensitive
+     */
+    public static Specification<Event> inVille(String ville) {
+        return (root, query, cb) -> ville == null || ville.isBlank() ? null
+                : cb.equal(cb.lower(root.get("ville")), ville.trim().toLowerCase());
+    }
+
+    public static Specification<Event> startsAfter(LocalDateTime dateDebut) {
+        return (root, query, cb) -> dateDebut == null ? null : cb.greaterThan(root.get("dateDebut"), dateDebut);
+    }
+
+    public static Specification<Event> endsBefore(LocalDateTime dateFin) {
+        return (root, query, cb) -> dateFin == null ? null : cb.lessThan(root.get("dateFin"), dateFin);
+    }
+
+    public static Specification<Event> priceAtLeast(Double prixMin) {
+        return (root, query, cb) -> prixMin == null ? null : cb.greaterThanOrEqualTo(root.get("prixUnitaire"), prixMin);
+    }
+
+    public static Specification<Event> priceAtMost(Double prixMax) {
+        return (root, query, cb) -> prixMax == null ? null : cb.lessThanOrEqualTo(root.get("prixUnitaire"), prixMax);
+    }
+}
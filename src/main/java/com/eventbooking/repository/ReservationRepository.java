@@ -5,6 +5,7 @@ import com.eventbooking.domain.entity.Reservation;
 import com.eventbooking.domain.entity.User;
 import com.eventbooking.domain.enums.StatutReservation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +15,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>,
+        JpaSpecificationExecutor<Reservation> {
 
     /**
      * Find reservations by utilisateur
@@ -37,6 +39,11 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      */
     Optional<Reservation> findByCodeReservation(String code);
 
+    /**
+     * Find reservation by idempotency key
+     */
+    Optional<Reservation> findByCleIdempotence(String cleIdempotence);
+
     /**
      * Find reservations between two dates
      */
@@ -70,6 +77,13 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r JOIN FETCH r.utilisateur JOIN FETCH r.evenement")
     List<Reservation> findAllWithUtilisateurAndEvenement();
 
+    /**
+     * Count, places and amount of reservations per statut: statut, count, places, amount
+     */
+    @Query("SELECT r.statut, COUNT(r), COALESCE(SUM(r.nombrePlaces), 0), COALESCE(SUM(r.montantTotal), 0.0) "
+            + "FROM Reservation r GROUP BY r.statut")
+    List<Object[]> summarizeByStatut();
+
     /**
      * Find reservations by utilisateur with eager loading of evenement
      */
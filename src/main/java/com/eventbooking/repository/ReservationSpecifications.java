@@ -0,0 +1,88 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.Reservation;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.StatutReservation;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Search criteria on reservations, translated into SQL predicates.
+ * A null argument means "no filter": the specification adds no predicate.
+ */
+public final class ReservationSpecifications {
+
+    private ReservationSpecifications() {
+    }
+
+    /**
+     * All filters of the reservation search combined
+     */
+    public static Specification<Reservation> matching(StatutReservation statut, String text) {
+        return Specification.allOf(List.of(
+                hasStatut(statut),
+                containsText(text)));
+    }
+
+    public static Specification<Reservation> hasStatut(StatutReservation statut) {
+        return (root, query, cb) -> statut == null ? null : cb.equal(root.get("statut"), statut);
+    }
+
+    /**
+     * Code prefix, or user name / email, or event title containing the text, case-insensitive
+     */
+    public static Specification<Reservation> containsText(String text) {
+        return (root, query, cb) -> {
+            if (text == null || text.isBlank()) {
+                return null;
+            }
+            String lower = text.trim().toLowerCase();
+            String contains = "%" + escape(lower) + "%";
+            Join<Reservation, User> utilisateur = root.join("utilisateur");
+            Join<Reservation, Event> evenement = root.join("evenement");
+            return cb.or(
+                    cb.like(cb.lower(root.get("codeReservation")), escape(lower) + "%", '\\'),
+                    cb.like(cb.lower(utilisateur.get("nom")), contains, '\\'),
+                    cb.like(cb.lower(utilisateur.get("prenom")), contains, '\\'),
+                    cb.like(cb.lower(utilisateur.get("email")), contains, '\\'),
+                    cb.like(cb.lower(evenement.get("titre")), contains, '\\'));
+        };
+    }
+
+    /**
+     * Reservations strictly after a (dateReservation, id) key in the given direction (keyset pagination)
+     */
+    public static Specification<Reservation> after(LocalDateTime dateReservation, Long id, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (dateReservation == null || id == null) {
+                return null;
+            }
+            if (direction.isAscending()) {
+                return cb.or(
+                        cb.greaterThan(root.get("dateReservation"), dateReservation),
+                        cb.and(cb.equal(root.get("dateReservation"), dateReservation),
+                                cb.greaterThan(root.get("id"), id)));
+            }
+            return cb.or(
+                    cb.lessThan(root.get("dateReservation"), dateReservation),
+                    cb.and(cb.equal(root.get("dateReservation"), dateReservation),
+                            cb.lessThan(root.get("id"), id)));
+        };
+    }
+
+    /**
+     * Keyset order: dateReservation, then id as a tie-breaker
+     */
+    public static Sort keysetOrder(Sort.Direction direction) {
+        return Sort.by(direction, "dateReservation", "id");
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
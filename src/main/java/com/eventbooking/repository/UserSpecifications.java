@@ -0,0 +1,53 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.Role;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Search criteria on users, translated into SQL predicates.
+ * A null argument means "no filter": the specification adds no predicate.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * All filters of the user administration combined (role and actif follow the idx_users_role_actif order)
+     */
+    public static Specification<User> matching(Role role, Boolean actif, String name) {
+        return Specification.allOf(List.of(
+                hasRole(role),
+                hasActif(actif),
+                nameStartsWith(name)));
+    }
+
+    public static Specification<User> hasRole(Role role) {
+        return (root, query, cb) -> role == null ? null : cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> hasActif(Boolean actif) {
+        return (root, query, cb) -> actif == null ? null : cb.equal(root.get("actif"), actif);
+    }
+
+    /**
+     * Nom or prenom starting with the text (case and accent insensitive), or email starting with it.
+     * Prefix LIKE on indexed columns, never a leading wildcard.
+     */
+    public static Specification<User> nameStartsWith(String name) {
+        return (root, query, cb) -> {
+            String key = User.searchKey(name);
+            if (key == null || key.isEmpty()) {
+                return null;
+            }
+            String prefix = key.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            return cb.or(
+                    cb.like(root.get("nomRecherche"), prefix, '\\'),
+                    cb.like(root.get("prenomRecherche"), prefix, '\\'),
+                    cb.like(root.get("email"), prefix, '\\'));
+        };
+    }
+}
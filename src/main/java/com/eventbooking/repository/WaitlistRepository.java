@@ -0,0 +1,49 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.domain.entity.WaitlistEntry;
+import com.eventbooking.domain.enums.StatutListeAttente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Next waiting entries of an event after a given id (keyset page, FIFO order)
+     */
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.evenement.id = :eventId AND w.statut = 'EN_ATTENTE' "
+            + "AND w.id > :afterId ORDER BY w.id")
+    List<WaitlistEntry> findWaitingAfter(@Param("eventId") Long eventId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Published events with places left and someone still waiting
+     */
+    @Query("SELECT DISTINCT w.evenement.id FROM WaitlistEntry w WHERE w.statut = 'EN_ATTENTE' "
+            + "AND w.evenement.statut = 'PUBLIE' AND w.evenement.capaciteMax > w.evenement.placesReservees")
+    List<Long> findEventIdsWithWaitersAndFreePlaces();
+
+    /**
+     * Number of entries waiting ahead of a given id
+     */
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.evenement.id = :eventId AND w.statut = 'EN_ATTENTE' "
+            + "AND w.id < :id")
+    long countWaitingBefore(@Param("eventId") Long eventId, @Param("id") Long id);
+
+    /**
+     * Check if a user already waits for an event
+     */
+    boolean existsByUtilisateurIdAndEvenementIdAndStatut(Long userId, Long eventId, StatutListeAttente statut);
+
+    /**
+     * Entries of a user with their event loaded
+     */
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.evenement WHERE w.utilisateur.id = :userId "
+            + "ORDER BY w.dateInscription DESC")
+    List<WaitlistEntry> findByUtilisateurWithEvenement(@Param("userId") Long userId);
+}
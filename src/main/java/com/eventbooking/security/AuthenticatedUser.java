@@ -0,0 +1,35 @@
+package com.eventbooking.security;
+
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of the logged-in user kept in the Vaadin session (no password).
+ * The generation is the user change counter read before the user was loaded.
+ */
+public record AuthenticatedUser(Long id, String email, String nom, String prenom, String telephone, Role role,
+        Boolean actif, LocalDateTime dateInscription, long generation) {
+
+    static AuthenticatedUser of(User user, long generation) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getNom(), user.getPrenom(),
+                user.getTelephone(), user.getRole(), user.getActif(), user.getDateInscription(), generation);
+    }
+
+    /**
+     * A fresh detached user for the caller to use and modify, without password
+     */
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .email(email)
+                .nom(nom)
+                .prenom(prenom)
+                .telephone(telephone)
+                .role(role)
+                .actif(actif)
+                .dateInscription(dateInscription)
+                .build();
+    }
+}
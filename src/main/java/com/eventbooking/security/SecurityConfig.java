@@ -23,7 +23,9 @@ public class SecurityConfig extends VaadinWebSecurity {
         protected void configure(HttpSecurity http) throws Exception {
                 // Allow H2 console
                 http.authorizeHttpRequests(auth -> auth
-                                .requestMatchers("/h2-console/**").permitAll());
+                                .requestMatchers("/h2-console/**").permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN"));
 
                 http.headers(headers -> headers
                                 .frameOptions(frame -> frame.sameOrigin()));
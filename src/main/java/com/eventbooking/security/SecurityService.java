@@ -2,12 +2,19 @@ package com.eventbooking.security;
 
 import com.eventbooking.domain.entity.User;
 import com.eventbooking.repository.UserRepository;
+import com.eventbooking.service.UserChangedEvent;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -16,12 +23,50 @@ public class SecurityService {
     private final AuthenticationContext authenticationContext;
     private final UserRepository userRepository;
 
+    // Bumped on every committed user change; each user remembers the generation of its last change
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+
     /**
-     * Get the currently authenticated user
+     * Get the currently authenticated user (a fresh copy of the session snapshot)
      */
     public Optional<User> getAuthenticatedUser() {
-        return authenticationContext.getAuthenticatedUser(UserDetails.class)
-                .flatMap(userDetails -> userRepository.findByEmail(userDetails.getUsername()));
+        return getAuthenticatedPrincipal().map(AuthenticatedUser::toUser);
+    }
+
+    /**
+     * Snapshot of the currently authenticated user, loaded once per Vaadin session and reloaded after a change
+     */
+    public Optional<AuthenticatedUser> getAuthenticatedPrincipal() {
+        Optional<String> email = authenticationContext.getAuthenticatedUser(UserDetails.class)
+                .map(UserDetails::getUsername);
+        if (email.isEmpty()) {
+            return Optional.empty();
+        }
+
+        VaadinSession session = VaadinSession.getCurrent();
+        AuthenticatedUser cached = session == null ? null : session.getAttribute(AuthenticatedUser.class);
+        if (cached != null && cached.email().equals(email.get())
+                && changedAt.getOrDefault(cached.id(), -1L) < cached.generation()) {
+            return Optional.of(cached);
+        }
+
+        // Read before loading: a change committed meanwhile gets a later generation and invalidates this copy
+        long loadedAt = generation.incrementAndGet();
+        Optional<AuthenticatedUser> loaded = userRepository.findByEmail(email.get())
+                .map(user -> AuthenticatedUser.of(user, loadedAt));
+        if (session != null) {
+            session.setAttribute(AuthenticatedUser.class, loaded.orElse(null));
+        }
+        return loaded;
+    }
+
+    /**
+     * Invalidate the session snapshots of a user once its change has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        changedAt.put(event.userId(), generation.incrementAndGet());
     }
 
     /**
@@ -0,0 +1,161 @@
+package com.eventbooking.service;
+
+import com.eventbooking.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Available places (capacity minus reserved places) per event, kept in a
+ * Caffeine cache bounded by size.
+ * <p>
+ * A miss reads the counter from the database. Every transaction that moves a
+ * counter goes through here: the cached value is moved by the same amount
+ * once it commits. While such a transaction is in flight, misses on its event
+ * are read from the database but not cached, and a load started before it is
+ * discarded, so a value read before a commit can never be cached after it.
+ */
+@Component
+public class AvailabilityCache {
+
+    private final EventRepository eventRepository;
+    // Check-then-act sequences on a slot are guarded by this
+    private final Cache<Long, Slot> slots;
+    // Guarded by this
+    private final Map<Long, Integer> writersByEvent = new HashMap<>();
+
+    public AvailabilityCache(EventRepository eventRepository,
+            @Value("${eventbooking.availability.max-entries:10000}") int maxEntries) {
+        this.eventRepository = eventRepository;
+        this.slots = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Available places of an event, loaded from the database on a miss; empty if the event does not exist
+     */
+    public Optional<Integer> getPlacesDisponibles(Long eventId) {
+        Slot slot = null;
+        synchronized (this) {
+            Slot cached = slots.getIfPresent(eventId);
+            if (cached != null && cached.loaded) {
+                return Optional.of(cached.places);
+            }
+            if (!writersByEvent.containsKey(eventId)) {
+                slot = new Slot();
+                slots.put(eventId, slot);
+            }
+        }
+
+        Optional<Integer> places = eventRepository.findPlacesDisponiblesById(eventId);
+        synchronized (this) {
+            // Replaced, evicted or invalidated by a write while loading: keep it out of the cache
+            if (slot != null && slots.getIfPresent(eventId) == slot) {
+                if (places.isPresent()) {
+                    slot.places = places.get();
+                    slot.loaded = true;
+                } else {
+                    slots.invalidate(eventId);
+                }
+            }
+        }
+        return places;
+    }
+
+    /**
+     * Move an event's available places by the places the current transaction reserved, once it commits
+     */
+    public void adjustAfterCommit(Long eventId, int reservedDelta) {
+        if (reservedDelta != 0) {
+            write(eventId, reservedDelta);
+        }
+    }
+
+    /**
+     * Move each event's available places by the places the current transaction reserved, once it commits
+     */
+    public void adjustAfterCommit(Map<Long, Integer> reservedDeltaByEvent) {
+        reservedDeltaByEvent.forEach(this::adjustAfterCommit);
+    }
+
+    /**
+     * Drop an event's cached places once the current transaction commits (capacity change, counter rebuild)
+     */
+    public void invalidateAfterCommit(Long eventId) {
+        write(eventId, null);
+    }
+
+    /**
+     * Drop the places of an event resized or deleted by the current transaction, once it commits
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.capacityChanged()) {
+            invalidateAfterCommit(change.eventId());
+        }
+    }
+
+    /**
+     * Number of cached events
+     */
+    public synchronized int size() {
+        // Run pending evictions first
+        slots.cleanUp();
+        return (int) slots.asMap().values().stream().filter(slot -> slot.loaded).count();
+    }
+
+    private void write(Long eventId, Integer reservedDelta) {
+        beginWrite(eventId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Already committed on its own and a load may have seen it: the delta cannot be applied safely
+            endWrite(eventId, null);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // A rolled back write changed nothing; an unknown outcome drops the cached value
+                endWrite(eventId, status == STATUS_ROLLED_BACK ? Integer.valueOf(0)
+                        : status == STATUS_COMMITTED ? reservedDelta : null);
+            }
+        });
+    }
+
+    private synchronized void beginWrite(Long eventId) {
+        writersByEvent.merge(eventId, 1, Integer::sum);
+        Slot slot = slots.getIfPresent(eventId);
+        if (slot != null && !slot.loaded) {
+            slots.invalidate(eventId);
+        }
+    }
+
+    /**
+     * Apply a finished write: move the cached places by the reserved delta, or drop them when null
+     */
+    private synchronized void endWrite(Long eventId, Integer reservedDelta) {
+        writersByEvent.computeIfPresent(eventId, (id, writers) -> writers > 1 ? writers - 1 : null);
+        Slot slot = slots.getIfPresent(eventId);
+        if (slot == null) {
+            return;
+        }
+        if (reservedDelta == null || !slot.loaded) {
+            slots.invalidate(eventId);
+        } else {
+            slot.places -= reservedDelta;
+        }
+    }
+
+    private static final class Slot {
+        private int places;
+        private boolean loaded;
+    }
+}
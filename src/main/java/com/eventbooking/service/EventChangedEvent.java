@@ -0,0 +1,23 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+
+/**
+ * Published inside the transaction that creates, changes or deletes an event
+ * (event null once deleted, capacityChanged when its capacity moved or it was
+ * deleted). Listeners apply the change once the transaction commits.
+ */
+public record EventChangedEvent(Long eventId, Event event, boolean capacityChanged) {
+
+    public static EventChangedEvent saved(Event event) {
+        return new EventChangedEvent(event.getId(), event, false);
+    }
+
+    public static EventChangedEvent deleted(Long eventId) {
+        return new EventChangedEvent(eventId, null, true);
+    }
+
+    public boolean isDeleted() {
+        return event == null;
+    }
+}
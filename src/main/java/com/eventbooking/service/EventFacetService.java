@@ -0,0 +1,114 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.TranchePrix;
+import com.eventbooking.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts shown next to the event search filters (categorie, tranche de prix).
+ * <p>
+ * One grouped query returns the number of events per (categorie, ville, prix);
+ * the categorie counts are summed from those rows under the selected ville,
+ * the price ranges and the total under both filters. City counts come with the
+ * city suggestions ({@link PlaceAutocomplete}). Results are cached per filter
+ * signature for a few seconds in a bounded LRU map.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EventFacetService {
+
+    private final EventRepository eventRepository;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<FacetFilter, CachedFacets> cache;
+
+    public EventFacetService(EventRepository eventRepository,
+            @Value("${eventbooking.facets.max-entries:1000}") int maxEntries,
+            @Value("${eventbooking.facets.ttl-seconds:10}") long ttlSeconds) {
+        this.eventRepository = eventRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FacetFilter, CachedFacets> eldest) {
+                return size() > EventFacetService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Facet counts for events of a statut (null for any) under the selected categorie and ville (null for any)
+     */
+    public EventFacets getFacets(StatutEvent statut, Categorie categorie, String ville) {
+        FacetFilter filter = new FacetFilter(statut, categorie,
+                ville == null || ville.isBlank() ? null : ville.trim().toLowerCase());
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            CachedFacets cached = cache.get(filter);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached.facets();
+            }
+        }
+
+        EventFacets facets = compute(filter);
+        synchronized (cache) {
+            cache.put(filter, new CachedFacets(facets, now + ttlMillis));
+        }
+        return facets;
+    }
+
+    private EventFacets compute(FacetFilter filter) {
+        Map<Categorie, Long> categories = new EnumMap<>(Categorie.class);
+        Map<TranchePrix, Long> tranches = new EnumMap<>(TranchePrix.class);
+        long total = 0;
+
+        for (Object[] row : eventRepository.countByCategorieVilleAndPrix(filter.statut())) {
+            Categorie categorie = (Categorie) row[0];
+            String ville = ((String) row[1]).trim();
+            double prix = ((Number) row[2]).doubleValue();
+            long count = ((Number) row[3]).longValue();
+
+            boolean categorieMatches = filter.categorie() == null || categorie == filter.categorie();
+            boolean villeMatches = filter.ville() == null || ville.toLowerCase().equals(filter.ville());
+
+            if (villeMatches && categorie != null) {
+                categories.merge(categorie, count, Long::sum);
+            }
+            if (categorieMatches && villeMatches) {
+                tranches.merge(TranchePrix.of(prix), count, Long::sum);
+                total += count;
+            }
+        }
+
+        return new EventFacets(Collections.unmodifiableMap(categories), Collections.unmodifiableMap(tranches), total);
+    }
+
+    private record FacetFilter(StatutEvent statut, Categorie categorie, String ville) {
+    }
+
+    private record CachedFacets(EventFacets facets, long expiresAt) {
+    }
+
+    // DTO for facet counts (values absent from a map have no event)
+    public record EventFacets(Map<Categorie, Long> categories, Map<TranchePrix, Long> tranches, long total) {
+
+        public long count(Categorie categorie) {
+            return categories.getOrDefault(categorie, 0L);
+        }
+
+        public long count(TranchePrix tranche) {
+            return tranches.getOrDefault(tranche, 0L);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index over event coordinates.
+ * <p>
+ * Events are kept in a sorted map keyed by geohash, so every geohash cell is
+ * a contiguous key range. A radius query picks the finest cell size still
+ * larger than the radius and scans only the 3x3 cells around the centre,
+ * then keeps the events within the radius (great-circle distance). Nearest
+ * neighbours widen the radius until enough events are found. Rebuilt at
+ * startup and updated after each committed event change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventGeoIndex {
+
+    private static final int REBUILD_PAGE_SIZE = 5_000;
+    private static final int PRECISION = 12;
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final double FIRST_NEAREST_RADIUS_KM = 10;
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private final NavigableMap<String, Point> pointsByKey = new TreeMap<>();
+    private final Map<Long, String> keysByEvent = new HashMap<>();
+
+    /**
+     * Events of a statut and categorie (null for any) within a radius, nearest first
+     */
+    public List<Nearby> within(double latitude, double longitude, double radiusKm, StatutEvent statut,
+            Categorie categorie) {
+        lock.readLock().lock();
+        try {
+            return withinLocked(latitude, longitude, radiusKm, statut, categorie);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The k events of a statut and categorie (null for any) nearest to a point, nearest first
+     */
+    public List<Nearby> nearest(double latitude, double longitude, int k, StatutEvent statut, Categorie categorie) {
+        lock.readLock().lock();
+        try {
+            // Everything within the radius is found, so the first k are the k nearest
+            double radiusKm = FIRST_NEAREST_RADIUS_KM;
+            List<Nearby> found = withinLocked(latitude, longitude, radiusKm, statut, categorie);
+            while (found.size() < k && radiusKm < Math.PI * EARTH_RADIUS_KM) {
+                radiusKm *= 2;
+                found = withinLocked(latitude, longitude, radiusKm, statut, categorie);
+            }
+            return found.size() > k ? found.subList(0, k) : found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or move an event once the current transaction commits
+     */
+    public void indexAfterCommit(Event event) {
+        Long eventId = event.getId();
+        Double latitude = event.getLatitude();
+        Double longitude = event.getLongitude();
+        StatutEvent statut = event.getStatut();
+        Categorie categorie = event.getCategorie();
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                putLocked(eventId, latitude, longitude, statut, categorie);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove an event once the current transaction commits
+     */
+    public void removeAfterCommit(Long eventId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(eventId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Move a changed event to its new location, statut and categorie
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            removeAfterCommit(change.eventId());
+        } else {
+            indexAfterCommit(change.event());
+        }
+    }
+
+    /**
+     * Number of indexed events
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keysByEvent.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the database, page by page
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pointsByKey.clear();
+            keysByEvent.clear();
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = eventRepository.findLocationsAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (Object[] row : page) {
+                    afterId = (Long) row[0];
+                    putLocked(afterId, (Double) row[1], (Double) row[2], (StatutEvent) row[3],
+                            (Categorie) row[4]);
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Event geo index rebuilt: {} events", size());
+    }
+
+    /**
+     * Great-circle distance between two points (haversine)
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLon = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private List<Nearby> withinLocked(double latitude, double longitude, double radiusKm, StatutEvent statut,
+            Categorie categorie) {
+        Collection<Point> candidates = candidatesLocked(latitude, longitude, radiusKm);
+        List<Nearby> found = new ArrayList<>();
+        for (Point point : candidates) {
+            if ((statut != null && point.statut() != statut)
+                    || (categorie != null && point.categorie() != categorie)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance <= radiusKm) {
+                found.add(new Nearby(point.eventId(), distance));
+            }
+        }
+        found.sort(Comparator.comparingDouble(Nearby::distanceKm).thenComparing(Nearby::eventId));
+        return found;
+    }
+
+    private Collection<Point> candidatesLocked(double latitude, double longitude, double radiusKm) {
+        int precision = cellPrecision(latitude, radiusKm);
+        if (precision == 0) {
+            return pointsByKey.values();
+        }
+
+        // The centre cell and its 8 neighbours cover the whole radius
+        double cellHeight = cellHeight(precision);
+        double cellWidth = cellWidth(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                double lat = Math.max(-90, Math.min(90, latitude + i * cellHeight));
+                double lon = longitude + j * cellWidth;
+                lon = lon > 180 ? lon - 360 : lon < -180 ? lon + 360 : lon;
+                cells.add(geohash(lat, lon, precision));
+            }
+        }
+
+        List<Point> candidates = new ArrayList<>();
+        for (String cell : cells) {
+            candidates.addAll(pointsByKey.subMap(cell, true, cell + Character.MAX_VALUE, true).values());
+        }
+        return candidates;
+    }
+
+    private void putLocked(Long eventId, Double latitude, Double longitude, StatutEvent statut,
+            Categorie categorie) {
+        removeLocked(eventId);
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        String key = geohash(latitude, longitude, PRECISION) + ":" + eventId;
+        pointsByKey.put(key, new Point(eventId, latitude, longitude, statut, categorie));
+        keysByEvent.put(eventId, key);
+    }
+
+    private void removeLocked(Long eventId) {
+        String key = keysByEvent.remove(eventId);
+        if (key != null) {
+            pointsByKey.remove(key);
+        }
+    }
+
+    /**
+     * Finest geohash precision whose cells are at least the radius in both directions, 0 for none
+     */
+    private static int cellPrecision(double latitude, double radiusKm) {
+        // Meridians converge, so measure the width where the circle is furthest from the equator
+        double furthestLatitude = Math.min(90, Math.abs(latitude) + radiusKm / KM_PER_DEGREE);
+        double kmPerDegreeLon = KM_PER_DEGREE * Math.cos(Math.toRadians(furthestLatitude));
+        for (int precision = PRECISION; precision >= 1; precision--) {
+            if (cellHeight(precision) * KM_PER_DEGREE >= radiusKm
+                    && cellWidth(precision) * kmPerDegreeLon >= radiusKm) {
+                return precision;
+            }
+        }
+        return 0;
+    }
+
+    private static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    private static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    /**
+     * Geohash of a point: longitude and latitude bisections interleaved, 5 bits per base32 character
+     */
+    static String geohash(double latitude, double longitude, int precision) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLon = -180;
+        double maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * An event and its distance from the query point
+     */
+    public record Nearby(Long eventId, double distanceKm) {
+    }
+
+    private record Point(Long eventId, double latitude, double longitude, StatutEvent statut,
+            Categorie categorie) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory interval index over event periods (dateDebut to dateFin).
+ * <p>
+ * Backed by {@link IntervalTree}s, so overlap queries only walk paths
+ * leading to overlapping events, multi-day events included: one tree over
+ * every event and one per statut, so a query by statut never walks events
+ * of other statuts. Rebuilt at startup and updated after each committed
+ * event change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventIntervalIndex {
+
+    private static final int REBUILD_PAGE_SIZE = 5_000;
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private final IntervalTree all = new IntervalTree();
+    private final Map<StatutEvent, IntervalTree> byStatut = new EnumMap<>(StatutEvent.class);
+
+    /**
+     * Ids of the events of a statut (null for any) overlapping [from, to), by start date
+     */
+    public List<Long> overlapping(LocalDateTime from, LocalDateTime to, StatutEvent statut) {
+        lock.readLock().lock();
+        try {
+            if (statut == null) {
+                return all.overlapping(from, to);
+            }
+            IntervalTree tree = byStatut.get(statut);
+            return tree != null ? tree.overlapping(from, to) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or move an event once the current transaction commits
+     */
+    public void indexAfterCommit(Event event) {
+        Long eventId = event.getId();
+        LocalDateTime start = event.getDateDebut();
+        LocalDateTime end = event.getDateFin();
+        StatutEvent statut = event.getStatut();
+        AfterCommit.run(() -> put(eventId, start, end, statut));
+    }
+
+    /**
+     * Remove an event once the current transaction commits
+     */
+    public void removeAfterCommit(Long eventId) {
+        AfterCommit.run(() -> remove(eventId));
+    }
+
+    /**
+     * Move a changed event to its new period and statut
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            removeAfterCommit(change.eventId());
+        } else {
+            indexAfterCommit(change.event());
+        }
+    }
+
+    /**
+     * Number of indexed events
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the database, page by page
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            byStatut.clear();
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = eventRepository.findPeriodsAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (Object[] row : page) {
+                    afterId = (Long) row[0];
+                    putLocked(afterId, (LocalDateTime) row[1], (LocalDateTime) row[2], (StatutEvent) row[3]);
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Event interval index rebuilt: {} events", size());
+    }
+
+    private void put(Long eventId, LocalDateTime start, LocalDateTime end, StatutEvent statut) {
+        lock.writeLock().lock();
+        try {
+            putLocked(eventId, start, end, statut);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Long eventId, LocalDateTime start, LocalDateTime end, StatutEvent statut) {
+        removeLocked(eventId);
+        all.put(eventId, start, end);
+        if (statut != null) {
+            byStatut.computeIfAbsent(statut, s -> new IntervalTree()).put(eventId, start, end);
+        }
+    }
+
+    private void removeLocked(Long eventId) {
+        all.remove(eventId);
+        byStatut.values().forEach(tree -> tree.remove(eventId));
+    }
+}
@@ -0,0 +1,435 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.ElisionFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Embedded full-text index over event titles, descriptions, venues and cities.
+ * <p>
+ * Lucene in memory: text is lower-cased, stripped of French elisions (l', d')
+ * and accent-folded, so "théâtre" and "theatre" match. Every query word must
+ * match some field, as a whole term or as a prefix; results are ranked by
+ * BM25 with the title weighted highest. Prefixes are indexed as edge n-grams
+ * in a companion field per text field, so every clause is a plain term query
+ * and top hits are collected without visiting every match. The index is
+ * rebuilt at startup and updated after each committed create, modify or
+ * statut change.
+ */
+@Component
+@Slf4j
+public class EventSearchIndex {
+
+    private static final String ID = "id";
+    private static final String ID_SORT = "id.sort";
+    // Best first; the id breaks ties so a page can resume after any hit, even once the index changed
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE,
+            new SortField(ID_SORT, SortField.Type.LONG));
+    private static final String STATUT = "statut";
+    private static final String CATEGORIE = "categorie";
+    private static final String VILLE_KEY = "ville.key";
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            "titre", 4f,
+            "ville", 2f,
+            "lieu", 2f,
+            "description", 1f);
+    private static final String PREFIX_SUFFIX = ".prefix";
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_LENGTH = 15;
+    private static final int REBUILD_PAGE_SIZE = 5_000;
+
+    private final EventRepository eventRepository;
+    private final Analyzer analyzer = new FoldingAnalyzer(false);
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public EventSearchIndex(EventRepository eventRepository) throws IOException {
+        this.eventRepository = eventRepository;
+        Map<String, Analyzer> prefixAnalyzers = new HashMap<>();
+        Analyzer prefixAnalyzer = new FoldingAnalyzer(true);
+        FIELD_BOOSTS.keySet().forEach(field -> prefixAnalyzers.put(field + PREFIX_SUFFIX, prefixAnalyzer));
+        this.writer = new IndexWriter(new ByteBuffersDirectory(),
+                new IndexWriterConfig(new PerFieldAnalyzerWrapper(analyzer, prefixAnalyzers)));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Ids of the events matching a text, best first (statut null for any)
+     */
+    public List<Long> search(String text, StatutEvent statut, int limit) {
+        return search(text, statut, null, null, 0, limit);
+    }
+
+    /**
+     * One page of the ids of the events matching a text, best first (null filters match anything)
+     */
+    public List<Long> search(String text, StatutEvent statut, Categorie categorie, String ville, int offset,
+            int limit) {
+        return search(text, statut, categorie, ville, null, offset, limit).ids();
+    }
+
+    /**
+     * One page of the events matching a text, best first (null filters match anything).
+     * Given the last hit of the previous page, only the next limit hits are collected;
+     * without it (a jump to an unvisited page) the offset hits before the page are collected too.
+     */
+    public Hits search(String text, StatutEvent statut, Categorie categorie, String ville, Cursor after,
+            int offset, int limit) {
+        Query query = buildQuery(text, statut, categorie, ville);
+        if (query == null || limit <= 0) {
+            return Hits.NONE;
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits;
+                int skip;
+                if (after != null) {
+                    hits = searcher.searchAfter(after.toFieldDoc(searcher), query, limit, RELEVANCE).scoreDocs;
+                    skip = 0;
+                } else {
+                    hits = searcher.search(query, offset + limit, RELEVANCE).scoreDocs;
+                    skip = offset;
+                }
+                if (hits.length <= skip) {
+                    return Hits.NONE;
+                }
+                List<Long> ids = new ArrayList<>(hits.length - skip);
+                for (int i = skip; i < hits.length; i++) {
+                    ids.add(searcher.storedFields().document(hits[i].doc).getField(ID).numericValue().longValue());
+                }
+                FieldDoc last = (FieldDoc) hits[hits.length - 1];
+                return new Hits(ids, new Cursor((Float) last.fields[0], (Long) last.fields[1]));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Number of events matching a text (null filters match anything)
+     */
+    public int count(String text, StatutEvent statut, Categorie categorie, String ville) {
+        Query query = buildQuery(text, statut, categorie, ville);
+        if (query == null) {
+            return 0;
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.count(query);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The events among the given ids that match a text (null filters match anything).
+     * Collects at most ids.size() hits, however many events match the text overall.
+     */
+    public Set<Long> matchingAmong(String text, StatutEvent statut, Categorie categorie, Collection<Long> ids) {
+        Query textQuery = buildQuery(text, statut, categorie, null);
+        if (textQuery == null || ids.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermInSetQuery(ID, ids.stream().map(id -> new BytesRef(id.toString())).toList()),
+                        BooleanClause.Occur.FILTER)
+                .build();
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                Set<Long> matching = new HashSet<>();
+                for (ScoreDoc hit : searcher.search(query, ids.size()).scoreDocs) {
+                    matching.add(searcher.storedFields().document(hit.doc).getField(ID).numericValue().longValue());
+                }
+                return matching;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Add or replace an event once the current transaction commits
+     */
+    public void indexAfterCommit(Event event) {
+        Document document = toDocument(event.getId(), event.getTitre(), event.getDescription(), event.getLieu(),
+                event.getVille(), event.getStatut(), event.getCategorie());
+        AfterCommit.run(() -> update(event.getId(), document));
+    }
+
+    /**
+     * Remove an event once the current transaction commits
+     */
+    public void removeAfterCommit(Long eventId) {
+        AfterCommit.run(() -> delete(eventId));
+    }
+
+    /**
+     * Reindex or drop the document of a changed event
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            removeAfterCommit(change.eventId());
+        } else {
+            indexAfterCommit(change.event());
+        }
+    }
+
+    /**
+     * Number of indexed events
+     */
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Rebuild the whole index from the database, page by page
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        try {
+            writer.deleteAll();
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = eventRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (Object[] row : page) {
+                    afterId = (Long) row[0];
+                    writer.addDocument(toDocument(afterId, (String) row[1], (String) row[2], (String) row[3],
+                            (String) row[4], (StatutEvent) row[5], (Categorie) row[6]));
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            writer.forceMerge(1);
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Event search index rebuilt: {} events in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private Query buildQuery(String text, StatutEvent statut, Categorie categorie, String ville) {
+        List<String> words = analyze(text);
+        if (words.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words) {
+            query.add(wordQuery(word), BooleanClause.Occur.MUST);
+        }
+        if (statut != null) {
+            query.add(new TermQuery(new Term(STATUT, statut.name())), BooleanClause.Occur.FILTER);
+        }
+        if (categorie != null) {
+            query.add(new TermQuery(new Term(CATEGORIE, categorie.name())), BooleanClause.Occur.FILTER);
+        }
+        if (ville != null && !ville.isBlank()) {
+            query.add(new TermQuery(new Term(VILLE_KEY, villeKey(ville))), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Query wordQuery(String word) {
+        BooleanQuery.Builder fields = new BooleanQuery.Builder();
+        for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+            fields.add(new BoostQuery(new TermQuery(new Term(field.getKey(), word)), field.getValue()),
+                    BooleanClause.Occur.SHOULD);
+            if (word.length() >= MIN_PREFIX_LENGTH && word.length() <= MAX_PREFIX_LENGTH) {
+                // Prefix matches score below exact ones
+                fields.add(new BoostQuery(new TermQuery(new Term(field.getKey() + PREFIX_SUFFIX, word)),
+                        field.getValue() / 2), BooleanClause.Occur.SHOULD);
+            }
+        }
+        return fields.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return words;
+        }
+        try (TokenStream stream = analyzer.tokenStream("titre", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                words.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private Document toDocument(Long id, String titre, String description, String lieu, String ville,
+            StatutEvent statut, Categorie categorie) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.NO));
+        document.add(new StoredField(ID, id));
+        document.add(new NumericDocValuesField(ID_SORT, id));
+        document.add(new StringField(STATUT, statut.name(), Field.Store.NO));
+        if (categorie != null) {
+            document.add(new StringField(CATEGORIE, categorie.name(), Field.Store.NO));
+        }
+        if (ville != null) {
+            document.add(new StringField(VILLE_KEY, villeKey(ville), Field.Store.NO));
+        }
+        addText(document, "titre", titre);
+        addText(document, "ville", ville);
+        addText(document, "lieu", lieu);
+        addText(document, "description", description);
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+            document.add(new TextField(field + PREFIX_SUFFIX, value, Field.Store.NO));
+        }
+    }
+
+    /**
+     * City as an exact, case-insensitive filter key (same rule as EventSpecifications.inVille)
+     */
+    private static String villeKey(String ville) {
+        return ville.trim().toLowerCase();
+    }
+
+    private synchronized void update(Long id, Document document) {
+        try {
+            writer.updateDocument(new Term(ID, id.toString()), document);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.error("Could not index event {}", id, e);
+        }
+    }
+
+    private synchronized void delete(Long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.error("Could not remove event {} from the search index", id, e);
+        }
+    }
+
+    // Ids of one page of hits, and where the next page starts (null when empty)
+    public record Hits(List<Long> ids, Cursor last) {
+
+        static final Hits NONE = new Hits(List.of(), null);
+    }
+
+    // Position of a hit in the ranking: its score, then its id
+    public record Cursor(float score, long eventId) {
+
+        // Last doc of the reader: the hit with this very score and id is never collected again
+        private FieldDoc toFieldDoc(IndexSearcher searcher) {
+            return new FieldDoc(searcher.getIndexReader().maxDoc() - 1, score, new Object[] { score, eventId });
+        }
+    }
+
+    /**
+     * Standard tokenizer, lower case, French elisions removed, accents folded;
+     * optionally expanded to the word's prefixes
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+        private static final CharArraySet ARTICLES = CharArraySet.unmodifiableSet(new CharArraySet(
+                List.of("l", "m", "t", "qu", "n", "s", "j", "d", "c", "jusqu", "quoiqu", "lorsqu", "puisqu"), true));
+
+        private final boolean prefixes;
+
+        FoldingAnalyzer(boolean prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ElisionFilter(tokenizer, ARTICLES);
+            stream = new LowerCaseFilter(stream);
+            stream = new ASCIIFoldingFilter(stream);
+            if (prefixes) {
+                stream = new EdgeNGramTokenFilter(stream, MIN_PREFIX_LENGTH, MAX_PREFIX_LENGTH, true);
+            }
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
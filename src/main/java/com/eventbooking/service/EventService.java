@@ -5,29 +5,52 @@ import com.eventbooking.domain.entity.User;
 import com.eventbooking.domain.enums.Categorie;
 import com.eventbooking.domain.enums.Role;
 import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.VilleMaroc;
 import com.eventbooking.exception.BadRequestException;
 import com.eventbooking.exception.BusinessException;
 import com.eventbooking.exception.ForbiddenException;
 import com.eventbooking.exception.ResourceNotFoundException;
 import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.EventSpecifications;
 import com.eventbooking.repository.ReservationRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class EventService {
 
+    private static final Sort DEFAULT_PAGE_SORT = Sort.by("dateDebut");
+
     private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
+    private final FlashSaleService flashSaleService;
+    private final SeatHoldService seatHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventSearchIndex eventSearchIndex;
+    private final PopularEventsLeaderboard popularEventsLeaderboard;
+    private final EventIntervalIndex eventIntervalIndex;
+    private final VenueConflictChecker venueConflictChecker;
+    private final EventGeoIndex eventGeoIndex;
+    private final AvailabilityCache availabilityCache;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
      * 1. Create event (only ADMIN or ORGANIZER)
@@ -44,7 +67,11 @@ public class EventService {
         }
 
         event.setOrganisateur(user);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        // Once saved, so a published event can book its venue under its id
+        checkVenueAvailable(saved.getId(), saved, saved.getStatut() == StatutEvent.PUBLIE);
+        eventPublisher.publishEvent(EventChangedEvent.saved(saved));
+        return saved;
     }
 
     /**
@@ -69,6 +96,19 @@ public class EventService {
             throw new BadRequestException("La date de fin doit être après la date de début");
         }
 
+        checkVenueAvailable(eventId, updatedEvent, event.getStatut() == StatutEvent.PUBLIE);
+
+        // The flash sale ledger was sized from the capacity when the sale started
+        if (flashSaleService.isActive(eventId) && !event.getCapaciteMax().equals(updatedEvent.getCapaciteMax())) {
+            throw new BusinessException("La capacité ne peut pas être modifiée pendant une vente flash");
+        }
+
+        // A larger capacity frees places for the waitlist
+        if (updatedEvent.getCapaciteMax() > event.getCapaciteMax()) {
+            eventPublisher.publishEvent(new SeatsReleasedEvent(eventId));
+        }
+        boolean capacityChanged = !updatedEvent.getCapaciteMax().equals(event.getCapaciteMax());
+
         // Update fields
         event.setTitre(updatedEvent.getTitre());
         event.setDescription(updatedEvent.getDescription());
@@ -81,7 +121,10 @@ public class EventService {
         event.setPrixUnitaire(updatedEvent.getPrixUnitaire());
         event.setImageUrl(updatedEvent.getImageUrl());
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        evictAfterCommit(eventId);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId, saved, capacityChanged));
+        return saved;
     }
 
     /**
@@ -99,8 +142,13 @@ public class EventService {
             throw new BadRequestException("Tous les champs obligatoires doivent être remplis pour publier l'événement");
         }
 
+        checkVenueAvailable(eventId, event, true);
+
         event.setStatut(StatutEvent.PUBLIE);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        evictAfterCommit(eventId);
+        eventPublisher.publishEvent(EventChangedEvent.saved(saved));
+        return saved;
     }
 
     /**
@@ -116,7 +164,9 @@ public class EventService {
         // reservations
         // This could be done via email or notification system
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChangedEvent.saved(saved));
+        return saved;
     }
 
     /**
@@ -133,48 +183,206 @@ public class EventService {
         }
 
         eventRepository.delete(event);
+        eventPublisher.publishEvent(EventChangedEvent.deleted(eventId));
     }
 
     /**
-     * 6. Search events with multiple filters (using Streams)
+     * 6. Search events with multiple filters (evaluated by the database)
      */
     public List<Event> searchEvents(Categorie categorie, String ville, LocalDateTime dateDebut,
             LocalDateTime dateFin, Double prixMin, Double prixMax) {
-        List<Event> events = eventRepository.findAll();
+        return searchEvents(null, categorie, ville, dateDebut, dateFin, prixMin, prixMax);
+    }
+
+    /**
+     * 6b. Search events of a given statut (null for any) with multiple filters
+     */
+    public List<Event> searchEvents(StatutEvent statut, Categorie categorie, String ville, LocalDateTime dateDebut,
+            LocalDateTime dateFin, Double prixMin, Double prixMax) {
+        return eventRepository.findAll(
+                EventSpecifications.matching(statut, categorie, ville, dateDebut, dateFin, prixMin, prixMax));
+    }
 
-        return events.stream()
-                .filter(e -> categorie == null || e.getCategorie().equals(categorie))
-                .filter(e -> ville == null || e.getVille().equalsIgnoreCase(ville))
-                .filter(e -> dateDebut == null || e.getDateDebut().isAfter(dateDebut))
-                .filter(e -> dateFin == null || e.getDateFin().isBefore(dateFin))
-                .filter(e -> prixMin == null || e.getPrixUnitaire() >= prixMin)
-                .filter(e -> prixMax == null || e.getPrixUnitaire() <= prixMax)
-                .collect(Collectors.toList());
+    /**
+     * 6c. Full-text search on titre, description, lieu and ville (statut null for any), best matches first
+     */
+    public List<Event> fullTextSearch(String text, StatutEvent statut, int limit) {
+        return findAllInOrder(eventSearchIndex.search(text, statut, limit));
+    }
+
+    /**
+     * 6d. One page of events for lazy grids (null filters match anything):
+     * ranked by the full-text index when a text is given, sorted by the database otherwise
+     */
+    @Transactional(readOnly = true)
+    public List<Event> findEventsPage(String text, StatutEvent statut, Categorie categorie, String ville,
+            Pageable pageable) {
+        if (text != null && !text.isBlank()) {
+            return findAllInOrder(eventSearchIndex.search(text, statut, categorie, ville,
+                    (int) pageable.getOffset(), pageable.getPageSize()));
+        }
+
+        // Id as a tie-breaker keeps page boundaries stable
+        Sort sort = (pageable.getSort().isSorted() ? pageable.getSort() : DEFAULT_PAGE_SORT).and(Sort.by("id"));
+        return eventRepository.findAll(
+                EventSpecifications.matching(statut, categorie, ville, null, null, null, null),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)).getContent();
+    }
+
+    /**
+     * 6e. Number of events for lazy grids, same filters as findEventsPage
+     */
+    @Transactional(readOnly = true)
+    public int countEvents(String text, StatutEvent statut, Categorie categorie, String ville) {
+        if (text != null && !text.isBlank()) {
+            return eventSearchIndex.count(text, statut, categorie, ville);
+        }
+        return (int) eventRepository.count(
+                EventSpecifications.matching(statut, categorie, ville, null, null, null, null));
     }
 
     /**
-     * 7. Calculate available seats for an event
+     * 6f. Calendar: events of a statut (null for any) overlapping [from, to), by start date.
+     * Multi-day events that started before the window are included. Found once per period;
+     * lazy grids then page over the result with findEventsOverlapping.
+     */
+    public PeriodSearch searchEventsOverlapping(LocalDateTime from, LocalDateTime to, StatutEvent statut) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("La fin de la période doit être après son début");
+        }
+        return new PeriodSearch(List.copyOf(eventIntervalIndex.overlapping(from, to, statut)));
+    }
+
+    /**
+     * One page of the events found by searchEventsOverlapping (6f)
+     */
+    public List<Event> findEventsOverlapping(PeriodSearch search, int offset, int limit) {
+        return findAllInOrder(search.eventIds().stream()
+                .skip(offset)
+                .limit(limit)
+                .toList());
+    }
+
+    /**
+     * 6g. Events within a radius of a city (text and categorie optional), nearest first.
+     * Filtered and sorted once; lazy grids then page over the result with findEventsNear.
+     */
+    public NearbySearch searchEventsNear(VilleMaroc centre, double radiusKm, String text, StatutEvent statut,
+            Categorie categorie) {
+        List<EventGeoIndex.Nearby> nearby = eventGeoIndex.within(centre.getLatitude(), centre.getLongitude(),
+                radiusKm, statut, categorie);
+        if (text != null && !text.isBlank() && !nearby.isEmpty()) {
+            // Only the events within the radius are matched against the text, in distance order
+            Set<Long> matching = eventSearchIndex.matchingAmong(text, statut, categorie,
+                    nearby.stream().map(EventGeoIndex.Nearby::eventId).toList());
+            nearby = nearby.stream()
+                    .filter(n -> matching.contains(n.eventId()))
+                    .toList();
+        }
+        return new NearbySearch(List.copyOf(nearby));
+    }
+
+    /**
+     * 6h. One page of the events found by searchEventsNear, with their distance
+     */
+    public List<NearbyEvent> findEventsNear(NearbySearch search, int offset, int limit) {
+        List<EventGeoIndex.Nearby> page = search.results().stream()
+                .skip(offset)
+                .limit(limit)
+                .toList();
+        Map<Long, Event> events = eventRepository.findAllById(page.stream()
+                .map(EventGeoIndex.Nearby::eventId)
+                .toList()).stream()
+                .collect(Collectors.toMap(Event::getId, e -> e));
+
+        return page.stream()
+                .filter(n -> events.containsKey(n.eventId()))
+                .map(n -> new NearbyEvent(events.get(n.eventId()), n.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * 6i. The k events nearest to a city, nearest first
+     */
+    public List<NearbyEvent> findNearestEvents(VilleMaroc centre, int k, StatutEvent statut) {
+        List<EventGeoIndex.Nearby> nearest = eventGeoIndex.nearest(centre.getLatitude(), centre.getLongitude(), k,
+                statut, null);
+        Map<Long, Event> events = eventRepository.findAllById(nearest.stream()
+                .map(EventGeoIndex.Nearby::eventId)
+                .toList()).stream()
+                .collect(Collectors.toMap(Event::getId, e -> e));
+
+        return nearest.stream()
+                .filter(n -> events.containsKey(n.eventId()))
+                .map(n -> new NearbyEvent(events.get(n.eventId()), n.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * 6j. Published events already booking the event's venue during its period
+     */
+    public List<Event> findVenueConflicts(Long eventId, Event event) {
+        return findAllInOrder(venueConflictChecker.conflicts(eventId, event.getLieu(), event.getVille(),
+                event.getDateDebut(), event.getDateFin()));
+    }
+
+    /**
+     * 6k. Every pair of published events booking the same venue over overlapping periods
+     */
+    public List<VenueConflict> findAllVenueConflicts() {
+        List<VenueConflictChecker.Conflict> conflicts = venueConflictChecker.findAllConflicts();
+        Map<Long, Event> events = eventRepository.findAllById(conflicts.stream()
+                .flatMap(c -> Stream.of(c.eventId(), c.otherEventId()))
+                .distinct()
+                .toList()).stream()
+                .collect(Collectors.toMap(Event::getId, e -> e));
+
+        return conflicts.stream()
+                .filter(c -> events.containsKey(c.eventId()) && events.containsKey(c.otherEventId()))
+                .map(c -> new VenueConflict(events.get(c.eventId()), events.get(c.otherEventId())))
+                .sorted(Comparator.comparing((VenueConflict c) -> c.event().getDateDebut()))
+                .toList();
+    }
+
+    /**
+     * 6l. The first events of a statut starting in [from, to], soonest first
+     */
+    public List<Event> getEventsStarting(LocalDateTime from, LocalDateTime to, StatutEvent statut, int limit) {
+        return eventRepository.findByStatutAndDateDebutBetweenOrderByDateDebutAsc(statut, from, to,
+                PageRequest.of(0, limit));
+    }
+
+    /**
+     * 6m. One page of the events matching a text, best first, resuming after the last hit of the previous
+     * page when known (lazy grids scrolling forward); the offset is only used without it
+     */
+    @Transactional(readOnly = true)
+    public TextSearchPage findTextMatches(String text, StatutEvent statut, Categorie categorie, String ville,
+            EventSearchIndex.Cursor after, int offset, int limit) {
+        EventSearchIndex.Hits hits = eventSearchIndex.search(text, statut, categorie, ville, after, offset, limit);
+        return new TextSearchPage(findAllInOrder(hits.ids()), hits.last());
+    }
+
+    /**
+     * 7. Calculate available seats for an event, from the write-through availability cache
      */
     public int calculateAvailableSeats(Long eventId) {
-        Event event = eventRepository.findById(eventId)
+        if (flashSaleService.isActive(eventId)) {
+            return (int) flashSaleService.getAvailablePlaces(eventId);
+        }
+
+        int placesDisponibles = availabilityCache.getPlacesDisponibles(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé"));
 
-        Integer totalReserved = reservationRepository.calculateTotalReservedPlaces(event);
-        return event.getCapaciteMax() - totalReserved;
+        // Seats held by open reservation forms are not available to others
+        return Math.max(0, placesDisponibles - seatHoldService.getHeldPlaces(eventId));
     }
 
     /**
-     * 8. Retrieve popular events (most reserved) using Streams
+     * 8. Retrieve popular events (most reserved), read from the incrementally maintained leaderboard
      */
     public List<Event> getPopularEvents(int limit) {
-        List<Event> events = eventRepository.findAll();
-
-        return events.stream()
-                .filter(e -> e.getStatut() == StatutEvent.PUBLIE)
-                .sorted(Comparator.comparingInt(e -> reservationRepository.calculateTotalReservedPlaces((Event) e))
-                        .reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        return findAllInOrder(popularEventsLeaderboard.top(limit));
     }
 
     /**
@@ -194,7 +402,7 @@ public class EventService {
                 .sum();
 
         double avgAttendance = events.stream()
-                .mapToInt(e -> reservationRepository.calculateTotalReservedPlaces(e))
+                .mapToInt(Event::getPlacesReservees)
                 .average()
                 .orElse(0.0);
 
@@ -213,10 +421,22 @@ public class EventService {
                 .filter(e -> e.getDateFin().isBefore(now))
                 .forEach(e -> {
                     e.setStatut(StatutEvent.TERMINE);
-                    eventRepository.save(e);
+                    eventPublisher.publishEvent(EventChangedEvent.saved(eventRepository.save(e)));
                 });
     }
 
+    /**
+     * 11. Toggle flash sale mode (in-memory seat ledger with write-behind persistence)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void setFlashSaleMode(Long eventId, boolean enabled) {
+        if (enabled) {
+            flashSaleService.enable(eventId);
+        } else {
+            flashSaleService.disable(eventId);
+        }
+    }
+
     /**
      * Find event by ID
      */
@@ -246,6 +466,68 @@ public class EventService {
         return eventRepository.findAll();
     }
 
+    /**
+     * A published event books its venue until the transaction completes, so a concurrent
+     * publication of the same slot fails; a draft is only checked
+     */
+    private void checkVenueAvailable(Long eventId, Event event, boolean published) {
+        List<Event> conflicts = published
+                ? findAllInOrder(venueConflictChecker.reserve(eventId, event.getLieu(), event.getVille(),
+                        event.getDateDebut(), event.getDateFin()))
+                : findVenueConflicts(eventId, event);
+        if (!conflicts.isEmpty()) {
+            throw new BusinessException("Le lieu est déjà réservé sur ce créneau par : " + conflicts.stream()
+                    .map(Event::getTitre)
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * Drop an event's second-level cache entry once the current transaction commits, so the next read
+     * also sees the counters moved by bulk updates since it was cached
+     */
+    private void evictAfterCommit(Long eventId) {
+        AfterCommit.run(() -> entityManagerFactory.getCache().evict(Event.class, eventId));
+    }
+
+    private List<Event> findAllInOrder(List<Long> ids) {
+        Map<Long, Event> events = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, e -> e));
+
+        return ids.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // An event and its distance from the searched city
+    public record NearbyEvent(Event event, double distanceKm) {
+    }
+
+    // Events found over a period (ids only), by start date
+    public record PeriodSearch(List<Long> eventIds) {
+
+        public int size() {
+            return eventIds.size();
+        }
+    }
+
+    // One page of full-text matches and where the next page starts (null when empty)
+    public record TextSearchPage(List<Event> events, EventSearchIndex.Cursor last) {
+    }
+
+    // Events found around a city (ids and distances only), nearest first
+    public record NearbySearch(List<EventGeoIndex.Nearby> results) {
+
+        public int size() {
+            return results.size();
+        }
+    }
+
+    // Two published events clashing at the same venue
+    public record VenueConflict(Event event, Event otherEvent) {
+    }
+
     // DTO for organizer statistics
     public record OrganizerStatistics(long totalEvents, long publishedEvents,
             double totalRevenue, double avgAttendance) {
@@ -0,0 +1,306 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.Reservation;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.exception.BusinessException;
+import com.eventbooking.exception.ResourceNotFoundException;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Flash sale mode: seats of a hot event are accounted in an in-memory striped
+ * ledger and reservations are persisted in batches by a write-behind worker.
+ * A buyer is answered only once the batch holding the reservation has
+ * committed (group commit), so a confirmed reservation is always in the
+ * database and a failed insert reaches the buyer as an error. After a restart
+ * the ledger is rebuilt from the reservations table; bookings still queued at
+ * crash time were never confirmed, and never oversold.
+ * <p>
+ * The worker runs on its own thread rather than on the shared scheduler:
+ * buyers block until it flushes, so it must never queue behind the other
+ * scheduled tasks (or behind a waitlist promotion waiting on it).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlashSaleService {
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PopularEventsLeaderboard popularEventsLeaderboard;
+    private final AvailabilityCache availabilityCache;
+
+    @Value("${eventbooking.flash-sale.batch-size:500}")
+    private int batchSize;
+
+    @Value("${eventbooking.flash-sale.flush-delay-ms:200}")
+    private long flushDelayMs;
+
+    @Value("${eventbooking.flash-sale.confirmation-timeout-ms:10000}")
+    private long confirmationTimeoutMs;
+
+    private final Map<Long, Ledger> ledgers = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingBooking> writeBehindQueue = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService writeBehindWorker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "flash-sale-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Check if an event is currently sold through its in-memory ledger
+     */
+    public boolean isActive(Long eventId) {
+        return ledgers.containsKey(eventId);
+    }
+
+    /**
+     * Claim the reservation's places from the ledger, queue it for persistence
+     * and wait until its batch has committed. Returns the persisted reservation.
+     */
+    public Reservation book(Reservation reservation) {
+        Ledger ledger = ledgers.get(reservation.getEvenement().getId());
+        if (ledger == null) {
+            throw new BusinessException("La vente flash de cet événement est terminée, veuillez réessayer");
+        }
+
+        PendingBooking pending = new PendingBooking(reservation, new CompletableFuture<>());
+        // Shared with other buyers; disable() takes it exclusively to wait for claims in progress
+        if (!ledger.claims.readLock().tryLock()) {
+            throw new BusinessException("La vente flash de cet événement se termine, veuillez réessayer");
+        }
+        try {
+            if (ledger.closed) {
+                throw new BusinessException("La vente flash de cet événement se termine, veuillez réessayer");
+            }
+            if (!ledger.seats.tryClaim(reservation.getNombrePlaces())) {
+                throw new BusinessException(
+                        "Nombre de places insuffisant. Places disponibles: " + ledger.seats.available());
+            }
+            writeBehindQueue.add(pending);
+        } finally {
+            ledger.claims.readLock().unlock();
+        }
+        return awaitConfirmation(pending);
+    }
+
+    /**
+     * Give places back to the ledger (e.g. after a cancellation)
+     */
+    public void release(Long eventId, int places) {
+        Ledger ledger = ledgers.get(eventId);
+        if (ledger != null) {
+            ledger.seats.release(places);
+        }
+    }
+
+    /**
+     * Places available according to the ledger, or -1 if the event is not in flash sale mode
+     */
+    public long getAvailablePlaces(Long eventId) {
+        Ledger ledger = ledgers.get(eventId);
+        return ledger != null ? ledger.seats.available() : -1;
+    }
+
+    /**
+     * Number of reservations waiting to be written to the database
+     */
+    public int getQueueDepth() {
+        return writeBehindQueue.size();
+    }
+
+    /**
+     * Switch an event to flash sale mode
+     */
+    public void enable(Long eventId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé"));
+
+            if (event.getStatut() != StatutEvent.PUBLIE) {
+                throw new BusinessException("Seuls les événements publiés peuvent passer en vente flash");
+            }
+            if (isActive(eventId)) {
+                return;
+            }
+
+            // The flag update locks the row: in-flight regular bookings finish first,
+            // later ones are rejected by reservePlaces
+            eventRepository.setModeVenteFlash(eventId, true);
+            openLedgerAfterCommit(event);
+        });
+        log.info("Flash sale mode enabled for event {}", eventId);
+    }
+
+    /**
+     * Leave flash sale mode: stop the ledger, drain the queue, then hand back to the database
+     */
+    public void disable(Long eventId) {
+        Ledger ledger = ledgers.get(eventId);
+        if (ledger != null) {
+            ledger.closed = true;
+            // Blocks until every claim in progress has been queued
+            ledger.claims.writeLock().lock();
+            ledger.claims.writeLock().unlock();
+            flush();
+            ledgers.remove(eventId);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> eventRepository.setModeVenteFlash(eventId, false));
+        log.info("Flash sale mode disabled for event {}", eventId);
+    }
+
+    /**
+     * Rebuild the ledgers of flash sale events from the reservations table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        for (Event event : eventRepository.findByModeVenteFlashTrue()) {
+            transactionTemplate.executeWithoutResult(status -> openLedgerAfterCommit(event));
+            log.info("Flash sale ledger recovered for event {}", event.getId());
+        }
+    }
+
+    /**
+     * Persist queued reservations in batches (write-behind worker, also called when a sale ends)
+     */
+    public synchronized void flush() {
+        List<PendingBooking> batch = new ArrayList<>(batchSize);
+        while (writeBehindQueue.drainTo(batch, batchSize) > 0) {
+            persistBatch(batch);
+            batch.clear();
+        }
+    }
+
+    @PostConstruct
+    void startWriteBehindWorker() {
+        writeBehindWorker.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // An escaped exception would cancel every later run
+                log.error("Write-behind flush failed, retrying on next run", e);
+            }
+        }, flushDelayMs, flushDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writeBehindWorker.shutdown();
+        writeBehindWorker.awaitTermination(confirmationTimeoutMs, TimeUnit.MILLISECONDS);
+        flush();
+    }
+
+    private void openLedgerAfterCommit(Event event) {
+        Long eventId = event.getId();
+        eventRepository.recomputePlacesReservees(eventId);
+        int available = eventRepository.findPlacesDisponibles(eventId);
+        // The counter was rebuilt: the in-memory copies must follow once the sale ends
+        popularEventsLeaderboard.resetAfterCommit(eventId, event.getCapaciteMax() - available);
+        availabilityCache.invalidateAfterCommit(eventId);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ledgers.put(eventId, new Ledger(new StripedSeatCounter(Math.max(0, available))));
+            }
+        });
+    }
+
+    private Reservation awaitConfirmation(PendingBooking pending) {
+        try {
+            return pending.confirmation().get(confirmationTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Duplicate idempotency keys are resolved by the caller
+            if (e.getCause() instanceof DataIntegrityViolationException duplicate) {
+                throw duplicate;
+            }
+            throw new BusinessException("Votre réservation n'a pas pu être enregistrée, veuillez réessayer");
+        } catch (TimeoutException e) {
+            throw new BusinessException("La confirmation de votre réservation prend plus de temps que prévu, "
+                    + "vérifiez vos réservations dans quelques instants");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("La confirmation de votre réservation a été interrompue, "
+                    + "vérifiez vos réservations dans quelques instants");
+        }
+    }
+
+    private void persistBatch(List<PendingBooking> batch) {
+        List<Reservation> reservations = batch.stream().map(PendingBooking::reservation).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(reservations));
+            batch.forEach(pending -> pending.confirmation().complete(pending.reservation()));
+        } catch (RuntimeException e) {
+            log.warn("Write-behind batch of {} reservations failed, persisting one by one", batch.size(), e);
+            reservations.forEach(r -> r.setId(null));
+            for (PendingBooking pending : batch) {
+                Reservation reservation = pending.reservation();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(reservation)));
+                    pending.confirmation().complete(reservation);
+                } catch (RuntimeException ex) {
+                    log.error("Flash sale reservation {} could not be persisted", reservation.getCodeReservation(),
+                            ex);
+                    release(reservation.getEvenement().getId(), reservation.getNombrePlaces());
+                    pending.confirmation().completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private void persist(List<Reservation> reservations) {
+        reservationRepository.saveAll(reservations);
+
+        Map<Long, Integer> placesByEvent = new HashMap<>();
+        for (Reservation reservation : reservations) {
+            placesByEvent.merge(reservation.getEvenement().getId(), reservation.getNombrePlaces(), Integer::sum);
+        }
+        placesByEvent.forEach(eventRepository::adjustPlacesReservees);
+        popularEventsLeaderboard.adjustAfterCommit(placesByEvent);
+        availabilityCache.adjustAfterCommit(placesByEvent);
+    }
+
+    private record PendingBooking(Reservation reservation, CompletableFuture<Reservation> confirmation) {
+    }
+
+    private static final class Ledger {
+        private final StripedSeatCounter seats;
+        private final ReadWriteLock claims = new ReentrantReadWriteLock();
+        private volatile boolean closed;
+
+        private Ledger(StripedSeatCounter seats) {
+            this.seats = seats;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.eventbooking.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: scheduling, cancelling and expiring a timeout
+ * are O(1). Level 0 has one slot per tick, each higher level covers 64 times
+ * the span of the one below; timeouts cascade down as their slot comes round.
+ * Deadlines beyond the top level are clamped to its range.
+ * <p>
+ * Not thread-safe: callers synchronize around it.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final Bucket<T>[][] levels;
+    private final long maxDelayTicks;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || levelCount < 1 || levelCount * SLOT_BITS > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = new Bucket[levelCount][SLOTS];
+        for (Bucket<T>[] level : levels) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Bucket<>();
+            }
+        }
+        this.maxDelayTicks = (1L << (levelCount * SLOT_BITS)) - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule a value to expire at the given time; never expires before it
+     */
+    public Timeout<T> schedule(T value, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        long delay = Math.min(Math.max(deadlineTick - currentTick, 1), maxDelayTicks);
+
+        Timeout<T> timeout = new Timeout<>(value, currentTick + delay);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancel a pending timeout; no effect if it already expired or was cancelled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Move the wheel forward to the given time, handing every expired value to the consumer
+     */
+    public void advance(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Cascade higher levels whose slot boundary was just crossed, top first
+            for (int level = levels.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) == 0) {
+                    Bucket<T> bucket = levels[level][(int) (currentTick >>> (level * SLOT_BITS)) & MASK];
+                    for (Timeout<T> timeout = bucket.drain(); timeout != null; ) {
+                        Timeout<T> next = timeout.next;
+                        timeout.next = null;
+                        place(timeout);
+                        timeout = next;
+                    }
+                }
+            }
+
+            Bucket<T> due = levels[0][(int) currentTick & MASK];
+            for (Timeout<T> timeout = due.drain(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                size--;
+                onExpire.accept(timeout.value);
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Number of pending timeouts
+     */
+    public int size() {
+        return size;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delay = timeout.deadlineTick - currentTick;
+        int level = 0;
+        while (level < levels.length - 1 && delay >= 1L << ((level + 1) * SLOT_BITS)) {
+            level++;
+        }
+        levels[level][(int) (timeout.deadlineTick >>> (level * SLOT_BITS)) & MASK].link(timeout);
+    }
+
+    /**
+     * Handle on a scheduled value
+     */
+    public static final class Timeout<T> {
+        private final T value;
+        private final long deadlineTick;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts sharing a slot
+     */
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        private void link(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        private void unlink(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        /**
+         * Detach the whole list and return its first element (linked through next)
+         */
+        private Timeout<T> drain() {
+            Timeout<T> first = head;
+            head = null;
+            for (Timeout<T> timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+                timeout.prev = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Everything the public homepage shows, precomputed off the request path.
+ * <p>
+ * A scheduled job builds an immutable snapshot (featured events, published
+ * events per categorie, upcoming highlights) and swaps it in atomically, so
+ * rendering the homepage never touches the database. A snapshot older than
+ * the allowed staleness (scheduler busy, failed refresh) is still served
+ * while a background refresh is started.
+ */
+@Service
+@Slf4j
+public class HomepageSnapshotService {
+
+    private static final int FEATURED_COUNT = 6;
+    private static final int UPCOMING_COUNT = 6;
+    private static final Duration UPCOMING_WINDOW = Duration.ofDays(30);
+
+    private final EventService eventService;
+    private final EventFacetService eventFacetService;
+    private final Duration maxStaleness;
+
+    private final AtomicReference<HomepageSnapshot> snapshot = new AtomicReference<>(HomepageSnapshot.EMPTY);
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public HomepageSnapshotService(EventService eventService, EventFacetService eventFacetService,
+            @Value("${eventbooking.homepage.max-staleness-seconds:300}") long maxStalenessSeconds) {
+        this.eventService = eventService;
+        this.eventFacetService = eventFacetService;
+        this.maxStaleness = Duration.ofSeconds(maxStalenessSeconds);
+    }
+
+    /**
+     * The current snapshot; never blocks, starts a background refresh when it is too old
+     */
+    public HomepageSnapshot getSnapshot() {
+        HomepageSnapshot current = snapshot.get();
+        if (current.generatedAt().plus(maxStaleness).isBefore(Instant.now()) && !refreshing.get()) {
+            CompletableFuture.runAsync(this::refresh);
+        }
+        return current;
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in (skipped if a refresh is already running).
+     * The first one waits for the popular events ranking to be rebuilt at startup.
+     */
+    @EventListener(PopularEventsRebuiltEvent.class)
+    @Scheduled(initialDelayString = "${eventbooking.homepage.refresh-ms:60000}",
+            fixedDelayString = "${eventbooking.homepage.refresh-ms:60000}")
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            snapshot.set(build());
+            log.debug("Homepage snapshot refreshed");
+        } catch (RuntimeException e) {
+            log.warn("Homepage snapshot refresh failed, keeping the previous one", e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private HomepageSnapshot build() {
+        List<HomepageEvent> featured = eventService.getPopularEvents(FEATURED_COUNT).stream()
+                .filter(e -> e.getStatut() == StatutEvent.PUBLIE)
+                .map(HomepageEvent::of)
+                .toList();
+
+        Map<Categorie, Long> categoryCounts = new EnumMap<>(Categorie.class);
+        categoryCounts.putAll(eventFacetService.getFacets(StatutEvent.PUBLIE, null, null).categories());
+
+        // Events starting soon, multi-day events already under way left out
+        LocalDateTime now = LocalDateTime.now();
+        List<HomepageEvent> upcoming = eventService
+                .getEventsStarting(now, now.plus(UPCOMING_WINDOW), StatutEvent.PUBLIE, UPCOMING_COUNT).stream()
+                .map(HomepageEvent::of)
+                .toList();
+
+        return new HomepageSnapshot(featured, Collections.unmodifiableMap(categoryCounts), upcoming, Instant.now());
+    }
+
+    // Immutable homepage content; EMPTY (generated at the epoch) until the first refresh
+    public record HomepageSnapshot(List<HomepageEvent> featured, Map<Categorie, Long> categoryCounts,
+            List<HomepageEvent> upcoming, Instant generatedAt) {
+
+        public static final HomepageSnapshot EMPTY = new HomepageSnapshot(List.of(), Map.of(), List.of(),
+                Instant.EPOCH);
+
+        public long count(Categorie categorie) {
+            return categoryCounts.getOrDefault(categorie, 0L);
+        }
+    }
+
+    // Detached copy of the event fields shown on a homepage card
+    public record HomepageEvent(Long id, String titre, Categorie categorie, String ville, Double prixUnitaire,
+            LocalDateTime dateDebut) {
+
+        static HomepageEvent of(Event event) {
+            return new HomepageEvent(event.getId(), event.getTitre(), event.getCategorie(), event.getVille(),
+                    event.getPrixUnitaire(), event.getDateDebut());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Reservation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, expiring dedupe table of reservation idempotency keys.
+ * An access-ordered LinkedHashMap gives O(1) lookups and LRU eviction; the
+ * unique constraint on reservations.cle_idempotence covers keys evicted from
+ * here or submitted to another instance.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public IdempotencyCache(@Value("${eventbooking.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${eventbooking.idempotency.ttl-minutes:30}") long ttlMinutes) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Claim a key for a new request. Returns null if the key is free (now
+     * marked pending), otherwise the entry of the earlier request.
+     */
+    public synchronized Entry claim(String key) {
+        long now = System.currentTimeMillis();
+        Entry existing = entries.get(key);
+        if (existing != null && existing.expiresAt > now) {
+            return existing;
+        }
+        entries.put(key, new Entry(null, now + ttlMillis));
+        return null;
+    }
+
+    /**
+     * Record the reservation created for a claimed key
+     */
+    public synchronized void complete(String key, Reservation reservation) {
+        entries.put(key, new Entry(reservation, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Free a claimed key after a failed request, so it can be retried
+     */
+    public synchronized void abandon(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isPending()) {
+            entries.remove(key);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Outcome of a request; a null reservation means it is still being processed
+     */
+    public record Entry(Reservation reservation, long expiresAt) {
+        public boolean isPending() {
+            return reservation == null;
+        }
+    }
+}
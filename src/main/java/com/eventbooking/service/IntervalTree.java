@@ -0,0 +1,194 @@
+package com.eventbooking.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interval tree of event periods (dateDebut to dateFin), keyed by event id.
+ * <p>
+ * A treap (randomized balanced search tree) ordered by start date, each node
+ * augmented with the latest end date of its subtree. An overlap query skips
+ * every subtree that ends before the window or starts after it, so it only
+ * walks paths leading to overlapping events (O(log n) each), and multi-day
+ * events are found even when they started long before the window. Callers
+ * keep one tree per set of events they query (a statut, a venue), so no
+ * filter runs after the walk. Not thread-safe.
+ */
+final class IntervalTree {
+
+    private final Map<Long, Node> nodesByEvent = new HashMap<>();
+    private Node root;
+
+    /**
+     * Add or move an event; events without both dates are left out
+     */
+    void put(Long eventId, LocalDateTime start, LocalDateTime end) {
+        remove(eventId);
+        if (start == null || end == null) {
+            return;
+        }
+        Node node = new Node(eventId, start, end.isBefore(start) ? start : end);
+        nodesByEvent.put(eventId, node);
+        root = insert(root, node);
+    }
+
+    void remove(Long eventId) {
+        Node node = nodesByEvent.remove(eventId);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Ids of the events overlapping [from, to), by start date
+     */
+    List<Long> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Long> ids = new ArrayList<>();
+        if (from.isBefore(to)) {
+            collect(root, from, to, ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Every pair of overlapping events, each pair once (lower start first)
+     */
+    List<long[]> overlappingPairs() {
+        List<long[]> pairs = new ArrayList<>();
+        for (Node node : nodesByEvent.values()) {
+            for (Long other : overlapping(node.start, node.end)) {
+                if (node.compareTo(nodesByEvent.get(other)) < 0) {
+                    pairs.add(new long[] { node.eventId, other });
+                }
+            }
+        }
+        return pairs;
+    }
+
+    int size() {
+        return nodesByEvent.size();
+    }
+
+    boolean isEmpty() {
+        return nodesByEvent.isEmpty();
+    }
+
+    void clear() {
+        nodesByEvent.clear();
+        root = null;
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<Long> ids) {
+        // Nothing in this subtree ends after the window starts
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, ids);
+        // This node and its right subtree start at or after the window end
+        if (!node.start.isBefore(to)) {
+            return;
+        }
+        if (node.end.isAfter(from)) {
+            ids.add(node.eventId);
+        }
+        collect(node.right, from, to, ids);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        int cmp = node.compareTo(root);
+        if (cmp < 0) {
+            root.left = delete(root.left, node);
+        } else if (cmp > 0) {
+            root.right = delete(root.right, node);
+        } else if (root.left == null) {
+            return root.right;
+        } else if (root.right == null) {
+            return root.left;
+        } else if (root.left.priority > root.right.priority) {
+            root = rotateRight(root);
+            root.right = delete(root.right, node);
+        } else {
+            root = rotateLeft(root);
+            root.left = delete(root.left, node);
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static final class Node implements Comparable<Node> {
+        private final long eventId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long eventId, LocalDateTime start, LocalDateTime end) {
+            this.eventId = eventId;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int cmp = start.compareTo(other.start);
+            return cmp != 0 ? cmp : Long.compare(eventId, other.eventId);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over the distinct cities and venues of the published events.
+ * <p>
+ * Prefix tries weighted by the number of published events per value, so the
+ * most used cities and venues come first, plus one city trie per categorie;
+ * the weights are the counts shown next to the city suggestions. Answered
+ * from memory on every keystroke; rebuilt at startup and updated after each
+ * committed event change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlaceAutocomplete {
+
+    private static final int REBUILD_PAGE_SIZE = 5_000;
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private final Map<Long, Place> placeByEvent = new HashMap<>();
+    private WeightedPrefixTrie villes = new WeightedPrefixTrie();
+    private WeightedPrefixTrie lieux = new WeightedPrefixTrie();
+    private final Map<Categorie, WeightedPrefixTrie> villesByCategorie = new EnumMap<>(Categorie.class);
+
+    /**
+     * Cities starting with a prefix (accents and case ignored), most used first
+     */
+    public List<String> suggestVilles(String prefix, int limit) {
+        return suggestVilles(prefix, null, limit).stream().map(VilleSuggestion::ville).toList();
+    }
+
+    /**
+     * Cities with events of a categorie (null for any) starting with a prefix, and their number of events,
+     * most used first
+     */
+    public List<VilleSuggestion> suggestVilles(String prefix, Categorie categorie, int limit) {
+        lock.readLock().lock();
+        try {
+            WeightedPrefixTrie trie = categorie == null ? villes : villesByCategorie.get(categorie);
+            if (trie == null) {
+                return List.of();
+            }
+            return trie.suggestWeighted(prefix, limit).stream()
+                    .map(s -> new VilleSuggestion(s.value(), s.weight()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Venues of published events starting with a prefix (accents and case ignored), most used first
+     */
+    public List<String> suggestLieux(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return lieux.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add, move or remove (no longer published) an event's city and venue once the current transaction commits
+     */
+    public void indexAfterCommit(Event event) {
+        Long eventId = event.getId();
+        Place place = event.getStatut() == StatutEvent.PUBLIE
+                ? new Place(event.getVille(), event.getLieu(), event.getCategorie())
+                : null;
+        AfterCommit.run(() -> put(eventId, place));
+    }
+
+    /**
+     * Remove an event's city and venue once the current transaction commits
+     */
+    public void removeAfterCommit(Long eventId) {
+        AfterCommit.run(() -> put(eventId, null));
+    }
+
+    /**
+     * Count a changed event under its new city and venue, or no longer once unpublished
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            removeAfterCommit(change.eventId());
+        } else {
+            indexAfterCommit(change.event());
+        }
+    }
+
+    /**
+     * Number of indexed events
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return placeByEvent.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the tries from the published events, page by page
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            placeByEvent.clear();
+            villes = new WeightedPrefixTrie();
+            lieux = new WeightedPrefixTrie();
+            villesByCategorie.clear();
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = eventRepository.findPublishedPlacesAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (Object[] row : page) {
+                    afterId = (Long) row[0];
+                    putLocked(afterId, new Place((String) row[1], (String) row[3], (Categorie) row[2]));
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Place autocomplete rebuilt: {} events", size());
+    }
+
+    private void put(Long eventId, Place place) {
+        lock.writeLock().lock();
+        try {
+            putLocked(eventId, place);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Long eventId, Place place) {
+        Place previous = place == null ? placeByEvent.remove(eventId) : placeByEvent.put(eventId, place);
+        if (previous != null) {
+            addLocked(previous, -1);
+        }
+        if (place != null) {
+            addLocked(place, 1);
+        }
+    }
+
+    private void addLocked(Place place, int delta) {
+        villes.add(place.ville(), delta);
+        if (place.lieu() != null) {
+            lieux.add(place.lieu(), delta);
+        }
+        if (place.categorie() != null) {
+            villesByCategorie.computeIfAbsent(place.categorie(), c -> new WeightedPrefixTrie())
+                    .add(place.ville(), delta);
+        }
+    }
+
+    private record Place(String ville, String lieu, Categorie categorie) {
+    }
+
+    // A suggested city and its number of published events
+    public record VilleSuggestion(String ville, int events) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Published events ranked by reserved places, maintained incrementally.
+ * <p>
+ * A skip list ordered by places (descending, then id) holds every published
+ * event: reading the top k walks its first k entries, and a reservation moves
+ * its event with one removal and one insertion. Changes are applied once the
+ * transaction that made them commits. The ranking is rebuilt from the events'
+ * counters at startup and corrected whenever the reconciler finds a drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PopularEventsLeaderboard {
+
+    private static final Comparator<Entry> RANKING_ORDER = Comparator.comparingInt(Entry::places).reversed()
+            .thenComparingLong(Entry::eventId);
+
+    private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Guarded by this; readers only walk the ranking
+    private final Map<Long, Integer> placesByEvent = new HashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING_ORDER);
+
+    /**
+     * Ids of the k published events with the most reserved places, most popular first
+     */
+    public List<Long> top(int k) {
+        List<Long> ids = new ArrayList<>(Math.max(0, k));
+        Iterator<Entry> entries = ranking.iterator();
+        while (ids.size() < k && entries.hasNext()) {
+            ids.add(entries.next().eventId());
+        }
+        return ids;
+    }
+
+    /**
+     * Move an event by a number of reserved places once the current transaction commits
+     */
+    public void adjustAfterCommit(Long eventId, int delta) {
+        if (delta != 0) {
+            AfterCommit.run(() -> adjust(eventId, delta));
+        }
+    }
+
+    /**
+     * Move each event by its number of reserved places once the current transaction commits
+     */
+    public void adjustAfterCommit(Map<Long, Integer> deltaByEvent) {
+        Map<Long, Integer> deltas = Map.copyOf(deltaByEvent);
+        AfterCommit.run(() -> deltas.forEach(this::adjust));
+    }
+
+    /**
+     * Set the reserved places of an event (after a counter rebuild) once the current transaction commits
+     */
+    public void resetAfterCommit(Long eventId, int places) {
+        AfterCommit.run(() -> reset(eventId, places));
+    }
+
+    /**
+     * Enter or leave the ranking when an event's statut changes, once the current transaction commits
+     */
+    public void trackAfterCommit(Event event) {
+        Long eventId = event.getId();
+        if (event.getStatut() == StatutEvent.PUBLIE) {
+            int places = event.getPlacesReservees();
+            AfterCommit.run(() -> enter(eventId, places));
+        } else {
+            AfterCommit.run(() -> remove(eventId));
+        }
+    }
+
+    /**
+     * Remove an event from the ranking once the current transaction commits
+     */
+    public void removeAfterCommit(Long eventId) {
+        AfterCommit.run(() -> remove(eventId));
+    }
+
+    /**
+     * Rank a changed event while it is published
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            removeAfterCommit(change.eventId());
+        } else {
+            trackAfterCommit(change.event());
+        }
+    }
+
+    /**
+     * Number of ranked events
+     */
+    public synchronized int size() {
+        return placesByEvent.size();
+    }
+
+    /**
+     * Rebuild the ranking from the reserved places counters of published events
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Integer> places = new HashMap<>();
+        for (Object[] row : eventRepository.findReservedPlacesOfPublishedEvents()) {
+            places.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        synchronized (this) {
+            placesByEvent.clear();
+            ranking.clear();
+            places.forEach(this::put);
+        }
+        log.info("Popular events leaderboard rebuilt: {} published events", places.size());
+        eventPublisher.publishEvent(new PopularEventsRebuiltEvent());
+    }
+
+    private synchronized void adjust(Long eventId, int delta) {
+        Integer places = placesByEvent.get(eventId);
+        if (places != null) {
+            put(eventId, Math.max(0, places + delta));
+        }
+    }
+
+    private synchronized void reset(Long eventId, int places) {
+        if (placesByEvent.containsKey(eventId)) {
+            put(eventId, places);
+        }
+    }
+
+    private synchronized void enter(Long eventId, int places) {
+        if (!placesByEvent.containsKey(eventId)) {
+            put(eventId, places);
+        }
+    }
+
+    private synchronized void remove(Long eventId) {
+        Integer places = placesByEvent.remove(eventId);
+        if (places != null) {
+            ranking.remove(new Entry(eventId, places));
+        }
+    }
+
+    private void put(Long eventId, int places) {
+        Integer previous = placesByEvent.put(eventId, places);
+        if (previous != null) {
+            ranking.remove(new Entry(eventId, previous));
+        }
+        ranking.add(new Entry(eventId, places));
+    }
+
+    private record Entry(long eventId, int places) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventbooking.service;
+
+/**
+ * Published once the popular events ranking has been rebuilt from the database (e.g. at startup)
+ */
+public record PopularEventsRebuiltEvent() {
+}
@@ -0,0 +1,151 @@
+package com.eventbooking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Reservation codes that are unique by construction, without database lookups.
+ * <p>
+ * A 64-bit value (41 bits of milliseconds, 10 bits of node id, 13 bits of
+ * sequence) is written in Crockford base32 and followed by a Luhn mod 32 check
+ * symbol: {@code EVT-XXXXXXX-XXXXXXX}. Legacy {@code EVT-NNNNN} codes stay valid.
+ * Codes are only unique if every instance has its own node id, so the id must
+ * be configured: the application does not start without one.
+ */
+@Component
+public class ReservationCodeGenerator {
+
+    private static final String PREFIX = "EVT-";
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final Pattern LEGACY_CODE = Pattern.compile("EVT-\\d{5}");
+
+    private static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 13;
+    private static final int BODY_LENGTH = 13;
+
+    private final long node;
+    // Milliseconds since EPOCH_MILLIS << SEQUENCE_BITS | sequence; overflow borrows from the next millisecond
+    private final AtomicLong state = new AtomicLong();
+
+    public ReservationCodeGenerator(@Value("${eventbooking.reservation-code.node-id}") int nodeId) {
+        int maxNode = (1 << NODE_BITS) - 1;
+        if (nodeId < 0 || nodeId > maxNode) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + maxNode);
+        }
+        this.node = nodeId;
+    }
+
+    /**
+     * Next reservation code
+     */
+    public String nextCode() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            next = Math.max(now << SEQUENCE_BITS, current + 1);
+        } while (!state.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return format((timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence);
+    }
+
+    /**
+     * Check a code's format and check symbol (legacy codes are accepted as is)
+     */
+    public static boolean isValid(String code) {
+        String normalized = normalize(code);
+        if (normalized == null) {
+            return false;
+        }
+        if (LEGACY_CODE.matcher(normalized).matches()) {
+            return true;
+        }
+
+        String symbols = normalized.substring(PREFIX.length()).replace("-", "");
+        if (symbols.length() != BODY_LENGTH + 1) {
+            return false;
+        }
+        int[] digits = new int[symbols.length()];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = indexOf(symbols.charAt(i));
+            if (digits[i] < 0) {
+                return false;
+            }
+        }
+        return luhnSum(digits, true) % ALPHABET.length == 0;
+    }
+
+    /**
+     * Canonical form of a typed code: upper case, Crockford look-alikes mapped
+     * (O to 0, I/L to 1). Returns null if the code has no EVT prefix.
+     */
+    public static String normalize(String code) {
+        if (code == null) {
+            return null;
+        }
+        String upper = code.trim().toUpperCase();
+        if (!upper.startsWith(PREFIX)) {
+            return null;
+        }
+        if (LEGACY_CODE.matcher(upper).matches()) {
+            return upper;
+        }
+        String body = upper.substring(PREFIX.length()).replace('O', '0').replace('I', '1').replace('L', '1');
+        return PREFIX + body;
+    }
+
+    private static String format(long value) {
+        int[] digits = new int[BODY_LENGTH + 1];
+        for (int i = BODY_LENGTH - 1; i >= 0; i--) {
+            digits[i] = (int) (value & 31);
+            value >>>= 5;
+        }
+        int sum = luhnSum(digits, false);
+        digits[BODY_LENGTH] = (ALPHABET.length - sum % ALPHABET.length) % ALPHABET.length;
+
+        StringBuilder code = new StringBuilder(PREFIX.length() + BODY_LENGTH + 2).append(PREFIX);
+        for (int i = 0; i < digits.length; i++) {
+            if (i == (BODY_LENGTH + 1) / 2) {
+                code.append('-');
+            }
+            code.append(ALPHABET[digits[i]]);
+        }
+        return code.toString();
+    }
+
+    /**
+     * Luhn mod N sum, doubling every second digit from the right.
+     * When the check symbol is not yet present, doubling starts at the last digit.
+     */
+    private static int luhnSum(int[] digits, boolean withCheckSymbol) {
+        int length = withCheckSymbol ? digits.length : digits.length - 1;
+        boolean doubled = !withCheckSymbol;
+        int sum = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            int addend = digits[i];
+            if (doubled) {
+                addend *= 2;
+                addend = addend / ALPHABET.length + addend % ALPHABET.length;
+            }
+            sum += addend;
+            doubled = !doubled;
+        }
+        return sum;
+    }
+
+    private static int indexOf(char symbol) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == symbol) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -7,32 +7,172 @@ import com.eventbooking.domain.enums.StatutEvent;
 import com.eventbooking.domain.enums.StatutReservation;
 import com.eventbooking.exception.BadRequestException;
 import com.eventbooking.exception.BusinessException;
+import com.eventbooking.exception.ConflictException;
 import com.eventbooking.exception.ResourceNotFoundException;
 import com.eventbooking.repository.EventRepository;
 import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.repository.ReservationSpecifications;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class ReservationService {
 
+    private static final int MAX_BOOKING_ATTEMPTS = 5;
+    // Associations shown by reservation listings, fetched with the page
+    private static final List<String> LISTING_ASSOCIATIONS = List.of("utilisateur", "evenement",
+            "evenement.organisateur");
+
     private final ReservationRepository reservationRepository;
     private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final FlashSaleService flashSaleService;
+    private final ReservationCodeGenerator codeGenerator;
+    private final SeatHoldService seatHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyCache idempotencyCache;
+    private final PopularEventsLeaderboard popularEventsLeaderboard;
+    private final AvailabilityCache availabilityCache;
+
+    private final LongAdder bookingContentions = new LongAdder();
 
     /**
-     * 1. Create reservation with checks
+     * 1. Create reservation with checks.
+     * Places are taken with a conditional UPDATE on the event row, so concurrent
+     * buyers cannot oversell. Lock contention is retried in a fresh transaction.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Reservation createReservation(Reservation reservation) {
+        return createReservation(reservation, null);
+    }
+
+    /**
+     * 1a. Create reservation, converting the buyer's seat hold (if any).
+     * Places held by other open forms are not available to this booking.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Reservation createReservation(Reservation reservation, String holdId) {
+        String key = reservation.getCleIdempotence();
+        if (key == null) {
+            return book(reservation, holdId);
+        }
+
+        // Retried submission: hand back the original reservation
+        IdempotencyCache.Entry previous = idempotencyCache.claim(key);
+        if (previous != null) {
+            if (previous.isPending()) {
+                throw new ConflictException("Cette réservation est déjà en cours de traitement");
+            }
+            return previous.reservation();
+        }
+
+        try {
+            Reservation saved = book(reservation, holdId);
+            idempotencyCache.complete(key, saved);
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            // Key no longer in memory (evicted, other instance): the unique constraint caught the duplicate
+            Optional<Reservation> original = reservationRepository.findByCleIdempotence(key);
+            if (original.isEmpty()) {
+                idempotencyCache.abandon(key);
+                throw e;
+            }
+            idempotencyCache.complete(key, original.get());
+            return original.get();
+        } catch (RuntimeException e) {
+            idempotencyCache.abandon(key);
+            throw e;
+        }
+    }
+
+    private Reservation book(Reservation reservation, String holdId) {
+        // Hot events in flash sale mode are booked against the in-memory ledger
+        if (flashSaleService.isActive(reservation.getEvenement().getId())) {
+            // The ledger does not know about holds: one taken before the sale is simply given back
+            Reservation saved = bookFlashSale(reservation);
+            seatHoldService.release(holdId);
+            return saved;
+        }
+
+        Reservation saved = executeWithRetry(() -> doCreateReservation(reservation, holdId),
+                () -> reservation.setId(null));
+        seatHoldService.release(holdId);
+        return saved;
+    }
+
+    private Reservation doCreateReservation(Reservation reservation, String holdId) {
+        Event event = reservation.getEvenement();
+        validateReservation(reservation);
+
+        // Take the places atomically (row lock held until commit)
+        int heldByOthers = seatHoldService.getHeldPlacesExcluding(event.getId(), holdId);
+        if (eventRepository.reservePlaces(event.getId(), reservation.getNombrePlaces(), heldByOthers) == 0) {
+            Event current = eventRepository.findById(event.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé"));
+            if (current.getStatut() != StatutEvent.PUBLIE) {
+                throw new BusinessException("Seuls les événements publiés peuvent être réservés");
+            }
+            if (current.getModeVenteFlash()) {
+                throw new BusinessException("Vente flash en cours d'activation, veuillez réessayer");
+            }
+            throw new BusinessException("Nombre de places insuffisant. Places disponibles: "
+                    + Math.max(0, current.getPlacesDisponibles() - heldByOthers));
+        }
+        popularEventsLeaderboard.adjustAfterCommit(event.getId(), reservation.getNombrePlaces());
+        availabilityCache.adjustAfterCommit(event.getId(), reservation.getNombrePlaces());
+
+        reservation.setCodeReservation(codeGenerator.nextCode());
+
+        // Calculate montantTotal (will also be done in @PrePersist, but explicit here)
+        reservation.setMontantTotal(event.getPrixUnitaire() * reservation.getNombrePlaces());
+
+        // Flush keyed inserts so a duplicate key fails here rather than at commit
+        return reservation.getCleIdempotence() != null
+                ? reservationRepository.saveAndFlush(reservation)
+                : reservationRepository.save(reservation);
+    }
+
+    private Reservation bookFlashSale(Reservation reservation) {
+        Event event = reservation.getEvenement();
+        validateReservation(reservation);
+
+        reservation.setCodeReservation(codeGenerator.nextCode());
+        reservation.setMontantTotal(event.getPrixUnitaire() * reservation.getNombrePlaces());
+        reservation.setDateReservation(LocalDateTime.now());
+        reservation.setStatut(StatutReservation.EN_ATTENTE);
+
+        // Persisted by the write-behind worker, returned once its batch has committed
+        return flashSaleService.book(reservation);
+    }
+
+    private void validateReservation(Reservation reservation) {
         Event event = reservation.getEvenement();
 
         // Validate event is PUBLIE and not TERMINE
@@ -48,33 +188,130 @@ public class ReservationService {
         if (reservation.getNombrePlaces() > 10) {
             throw new BusinessException("Le nombre maximum de places par réservation est de 10");
         }
+    }
 
-        // Check available seats
-        Integer totalReserved = reservationRepository.calculateTotalReservedPlaces(event);
-        int availableSeats = event.getCapaciteMax() - totalReserved;
+    /**
+     * 1b. Create several reservations at once (group booking).
+     * All affected events are locked and checked in one query (in id order, so
+     * concurrent group bookings cannot deadlock), then the reservations are
+     * inserted in JDBC batches. Either every reservation is created or none.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Reservation> createReservations(User user, List<ReservationRequest> requests) {
+        return createReservations(user, requests, null);
+    }
 
-        if (reservation.getNombrePlaces() > availableSeats) {
-            throw new BusinessException("Nombre de places insuffisant. Places disponibles: " + availableSeats);
+    /**
+     * 1c. Create several reservations at once, converting the buyer's seat hold (if any)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Reservation> createReservations(User user, List<ReservationRequest> requests, String holdId) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("Aucune réservation à créer");
         }
+        List<Reservation> created = new ArrayList<>();
+        List<Reservation> saved = executeWithRetry(() -> doCreateReservations(user, requests, holdId, created), () -> {
+            created.forEach(r -> r.setId(null));
+            created.clear();
+        });
+        seatHoldService.release(holdId);
+        return saved;
+    }
 
-        // Generate unique code with retry logic
-        String code;
-        int maxRetries = 10;
-        int retries = 0;
-        do {
-            code = generateUniqueCode();
-            retries++;
-            if (retries > maxRetries) {
-                throw new BusinessException("Impossible de générer un code de réservation unique");
+    private List<Reservation> doCreateReservations(User user, List<ReservationRequest> requests, String holdId,
+            List<Reservation> created) {
+        Map<Long, Integer> placesByEvent = new TreeMap<>();
+        for (ReservationRequest request : requests) {
+            if (request.nombrePlaces() == null || request.nombrePlaces() < 1 || request.nombrePlaces() > 10) {
+                throw new BusinessException("Le nombre de places par réservation doit être entre 1 et 10");
             }
-        } while (reservationRepository.findByCodeReservation(code).isPresent());
+            placesByEvent.merge(request.eventId(), request.nombrePlaces(), Integer::sum);
+        }
 
-        reservation.setCodeReservation(code);
+        Map<Long, Event> events = eventRepository.findAllByIdForUpdate(placesByEvent.keySet()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
 
-        // Calculate montantTotal (will also be done in @PrePersist, but explicit here)
-        reservation.setMontantTotal(event.getPrixUnitaire() * reservation.getNombrePlaces());
+        for (Map.Entry<Long, Integer> entry : placesByEvent.entrySet()) {
+            Event event = events.get(entry.getKey());
+            if (event == null) {
+                throw new ResourceNotFoundException("Événement non trouvé");
+            }
+            if (event.getStatut() != StatutEvent.PUBLIE) {
+                throw new BusinessException("Seuls les événements publiés peuvent être réservés: " + event.getTitre());
+            }
+            if (event.getModeVenteFlash()) {
+                throw new BusinessException(
+                        "Les événements en vente flash se réservent individuellement: " + event.getTitre());
+            }
+            int available = event.getPlacesDisponibles()
+                    - seatHoldService.getHeldPlacesExcluding(event.getId(), holdId);
+            if (entry.getValue() > available) {
+                throw new BusinessException("Nombre de places insuffisant pour " + event.getTitre()
+                        + ". Places disponibles: " + Math.max(0, available));
+            }
+        }
 
-        return reservationRepository.save(reservation);
+        // Rows are locked: plain counter updates are safe
+        placesByEvent.forEach(eventRepository::adjustPlacesReservees);
+        popularEventsLeaderboard.adjustAfterCommit(placesByEvent);
+        availabilityCache.adjustAfterCommit(placesByEvent);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ReservationRequest request : requests) {
+            Event event = events.get(request.eventId());
+            created.add(Reservation.builder()
+                    .utilisateur(user)
+                    .evenement(event)
+                    .nombrePlaces(request.nombrePlaces())
+                    .commentaire(request.commentaire())
+                    .codeReservation(codeGenerator.nextCode())
+                    .montantTotal(event.getPrixUnitaire() * request.nombrePlaces())
+                    .dateReservation(now)
+                    .statut(StatutReservation.EN_ATTENTE)
+                    .build());
+        }
+        return reservationRepository.saveAll(created);
+    }
+
+    /**
+     * Run a booking in its own transaction, retrying on lock contention.
+     * Inside a caller's transaction the caller owns the retry decision.
+     */
+    private <T> T executeWithRetry(Supplier<T> booking, Runnable resetBeforeRetry) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return booking.get();
+        }
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> booking.get());
+            } catch (ConcurrencyFailureException e) {
+                bookingContentions.increment();
+                resetBeforeRetry.run();
+                if (attempt >= MAX_BOOKING_ATTEMPTS) {
+                    log.warn("Booking contention after {} attempts", attempt);
+                    throw new BusinessException("Forte affluence sur cet événement, veuillez réessayer");
+                }
+                log.debug("Booking contention, attempt {}", attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Number of booking attempts that hit lock contention since startup
+     */
+    public long getBookingContentionCount() {
+        return bookingContentions.sum();
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Réservation interrompue");
+        }
     }
 
     /**
@@ -84,7 +321,7 @@ public class ReservationService {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
 
-        reservation.setStatut(StatutReservation.CONFIRMEE);
+        changeStatut(reservation, StatutReservation.CONFIRMEE);
         return reservationRepository.save(reservation);
     }
 
@@ -109,7 +346,7 @@ public class ReservationService {
             throw new BusinessException("Les réservations ne peuvent être annulées que 48h avant l'événement");
         }
 
-        reservation.setStatut(StatutReservation.ANNULEE);
+        changeStatut(reservation, StatutReservation.ANNULEE);
         return reservationRepository.save(reservation);
     }
 
@@ -129,7 +366,11 @@ public class ReservationService {
      * 5. Verify reservation by code
      */
     public Optional<Reservation> verifyReservationByCode(String code) {
-        return reservationRepository.findByCodeReservation(code);
+        // Mistyped codes are caught by the check symbol without a query
+        if (!ReservationCodeGenerator.isValid(code)) {
+            return Optional.empty();
+        }
+        return reservationRepository.findByCodeReservation(ReservationCodeGenerator.normalize(code));
     }
 
     /**
@@ -188,7 +429,7 @@ public class ReservationService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé"));
 
-        return reservationRepository.calculateTotalReservedPlaces(event);
+        return event.getPlacesReservees();
     }
 
     /**
@@ -207,15 +448,106 @@ public class ReservationService {
     }
 
     /**
-     * Generate unique reservation code (EVT-XXXXX format)
+     * 10. Reservations after a (dateReservation, id) key, null for the first page.
+     * Seeks on the key instead of skipping rows, so deep pages cost the same as the first one.
      */
-    private String generateUniqueCode() {
-        Random random = new Random();
-        int randomNumber = 10000 + random.nextInt(90000); // 5-digit number
-        return "EVT-" + randomNumber;
+    @Transactional(readOnly = true)
+    public List<Reservation> findReservationsAfter(StatutReservation statut, String text, Sort.Direction direction,
+            LocalDateTime afterDate, Long afterId, int limit) {
+        Specification<Reservation> spec = ReservationSpecifications.matching(statut, text)
+                .and(ReservationSpecifications.after(afterDate, afterId, direction));
+
+        return reservationRepository.findBy(spec, query -> query
+                .sortBy(ReservationSpecifications.keysetOrder(direction))
+                .project(LISTING_ASSOCIATIONS)
+                .limit(limit)
+                .all());
+    }
+
+    /**
+     * 11. Reservations at any offset, for jumps to a page whose key is not known yet
+     */
+    @Transactional(readOnly = true)
+    public List<Reservation> findReservationsAt(StatutReservation statut, String text, Sort.Direction direction,
+            int offset, int limit) {
+        return reservationRepository.findBy(ReservationSpecifications.matching(statut, text), query -> query
+                .sortBy(ReservationSpecifications.keysetOrder(direction))
+                .project(LISTING_ASSOCIATIONS)
+                .limit(limit)
+                // An offset position points at the last row already read
+                .scroll(offset == 0 ? ScrollPosition.offset() : ScrollPosition.offset(offset - 1)))
+                .getContent();
+    }
+
+    /**
+     * 12. Count reservations matching the listing filters
+     */
+    @Transactional(readOnly = true)
+    public int countReservations(StatutReservation statut, String text) {
+        return (int) reservationRepository.count(ReservationSpecifications.matching(statut, text));
+    }
+
+    /**
+     * 13. Global reservation totals, aggregated by the database
+     */
+    @Transactional(readOnly = true)
+    public ReservationTotals getReservationTotals() {
+        Map<StatutReservation, Object[]> byStatut = reservationRepository.summarizeByStatut().stream()
+                .collect(Collectors.toMap(row -> (StatutReservation) row[0], row -> row));
+
+        long total = 0;
+        long places = 0;
+        double revenue = 0;
+        for (Map.Entry<StatutReservation, Object[]> entry : byStatut.entrySet()) {
+            total += ((Number) entry.getValue()[1]).longValue();
+            if (entry.getKey() != StatutReservation.ANNULEE) {
+                places += ((Number) entry.getValue()[2]).longValue();
+                revenue += ((Number) entry.getValue()[3]).doubleValue();
+            }
+        }
+
+        return new ReservationTotals(total,
+                countOf(byStatut, StatutReservation.CONFIRMEE),
+                countOf(byStatut, StatutReservation.EN_ATTENTE),
+                countOf(byStatut, StatutReservation.ANNULEE),
+                places, revenue);
+    }
+
+    private static long countOf(Map<StatutReservation, Object[]> byStatut, StatutReservation statut) {
+        Object[] row = byStatut.get(statut);
+        return row == null ? 0 : ((Number) row[1]).longValue();
+    }
+
+    /**
+     * Change reservation statut and keep the event's reserved places counter in sync
+     */
+    private void changeStatut(Reservation reservation, StatutReservation newStatut) {
+        StatutReservation oldStatut = reservation.getStatut();
+        reservation.setStatut(newStatut);
+
+        Long eventId = reservation.getEvenement().getId();
+        int places = reservation.getNombrePlaces();
+
+        if (oldStatut.occupiesSeats() && !newStatut.occupiesSeats()) {
+            eventRepository.adjustPlacesReservees(eventId, -places);
+            popularEventsLeaderboard.adjustAfterCommit(eventId, -places);
+            availabilityCache.adjustAfterCommit(eventId, -places);
+            // Only once committed: a rolled back cancellation must not hand its seats to flash sale buyers
+            AfterCommit.run(() -> flashSaleService.release(eventId, places));
+            eventPublisher.publishEvent(new SeatsReleasedEvent(eventId));
+        } else if (!oldStatut.occupiesSeats() && newStatut.occupiesSeats()) {
+            if (eventRepository.reservePlaces(eventId, places, seatHoldService.getHeldPlaces(eventId)) == 0) {
+                throw new BusinessException("Nombre de places insuffisant pour réactiver cette réservation");
+            }
+            popularEventsLeaderboard.adjustAfterCommit(eventId, places);
+            availabilityCache.adjustAfterCommit(eventId, places);
+        }
     }
 
     // DTOs
+    public record ReservationRequest(Long eventId, Integer nombrePlaces, String commentaire) {
+    }
+
     public record ReservationSummary(String code, String eventTitle, LocalDateTime eventDate,
             String eventLocation, Integer places, Double totalAmount,
             String status) {
@@ -224,4 +556,8 @@ public class ReservationService {
     public record ReservationStatistics(long totalReservations, Double totalSpent,
             long upcomingEvents) {
     }
+
+    public record ReservationTotals(long totalReservations, long confirmedReservations,
+            long pendingReservations, long cancelledReservations, long totalPlaces, double totalRevenue) {
+    }
 }
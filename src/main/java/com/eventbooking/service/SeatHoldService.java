@@ -0,0 +1,276 @@
+package com.eventbooking.service;
+
+import com.eventbooking.exception.BusinessException;
+import com.eventbooking.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Short-lived seat holds taken once a buyer has chosen how many places they want.
+ * Held seats count against availability until they are converted into a
+ * reservation, released, or expire on the timing wheel. A user and a browser
+ * session may only keep a few holds open at once, so nobody can sit on an
+ * event's seats by opening forms. Holds live in memory: a restart simply
+ * frees them. Flash sale events are not held, their ledger already answers
+ * instantly; a hold taken before the sale started is released when it is
+ * updated or converted.
+ */
+@Service
+@Slf4j
+public class SeatHoldService {
+
+    private final EventRepository eventRepository;
+    private final FlashSaleService flashSaleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+    private final int maxPerUser;
+    private final int maxPerSession;
+
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> heldByEvent = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> holdsByUser = new ConcurrentHashMap<>();
+    private final Map<String, Integer> holdsBySession = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<Hold> wheel;
+
+    public SeatHoldService(EventRepository eventRepository, FlashSaleService flashSaleService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${eventbooking.seat-hold.ttl-seconds:120}") long ttlSeconds,
+            @Value("${eventbooking.seat-hold.tick-ms:1000}") long tickMillis,
+            @Value("${eventbooking.seat-hold.max-per-user:3}") int maxPerUser,
+            @Value("${eventbooking.seat-hold.max-per-session:2}") int maxPerSession) {
+        this.eventRepository = eventRepository;
+        this.flashSaleService = flashSaleService;
+        this.eventPublisher = eventPublisher;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxPerUser = maxPerUser;
+        this.maxPerSession = maxPerSession;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, 4, System.currentTimeMillis());
+    }
+
+    /**
+     * Hold places on an event for a user's session; returns the hold id, or null for flash sale events
+     */
+    public String hold(Long userId, String sessionId, Long eventId, int places) {
+        if (flashSaleService.isActive(eventId)) {
+            return null;
+        }
+        Hold hold = new Hold(UUID.randomUUID().toString(), eventId, userId, sessionId);
+        synchronized (hold) {
+            admit(holdsByUser, userId, maxPerUser);
+            try {
+                admit(holdsBySession, sessionId, maxPerSession);
+            } catch (BusinessException e) {
+                leave(holdsByUser, userId);
+                throw e;
+            }
+            try {
+                claim(eventId, places, 0);
+            } catch (BusinessException e) {
+                leave(holdsByUser, userId);
+                leave(holdsBySession, sessionId);
+                throw e;
+            }
+            hold.places = places;
+            holds.put(hold.id, hold);
+            schedule(hold);
+        }
+        return hold.id;
+    }
+
+    /**
+     * Change the places of a hold and restart its TTL.
+     * An expired hold is taken again if the places are still available.
+     * A hold on an event gone into flash sale mode is released (returns null).
+     */
+    public String updateHold(String holdId, Long userId, String sessionId, Long eventId, int places) {
+        if (flashSaleService.isActive(eventId)) {
+            release(holdId);
+            return null;
+        }
+        Hold hold = holdId != null ? holds.get(holdId) : null;
+        if (hold == null || !hold.eventId.equals(eventId)) {
+            release(holdId);
+            return hold(userId, sessionId, eventId, places);
+        }
+        synchronized (hold) {
+            if (hold.released) {
+                return hold(userId, sessionId, eventId, places);
+            }
+            if (places > hold.places) {
+                claim(eventId, places - hold.places, hold.places);
+            } else {
+                counter(eventId).addAndGet(places - hold.places);
+            }
+            hold.places = places;
+            reschedule(hold);
+        }
+        return hold.id;
+    }
+
+    /**
+     * Give the places of a hold back (no effect if it already expired)
+     */
+    public void release(String holdId) {
+        if (holdId == null) {
+            return;
+        }
+        Hold hold = holds.remove(holdId);
+        if (hold != null) {
+            synchronized (wheel) {
+                wheel.cancel(hold.timeout);
+            }
+            free(hold);
+        }
+    }
+
+    /**
+     * Places held on an event by all open forms
+     */
+    public int getHeldPlaces(Long eventId) {
+        AtomicInteger held = heldByEvent.get(eventId);
+        return held != null ? Math.max(0, held.get()) : 0;
+    }
+
+    /**
+     * Places held on an event by everyone except the given hold
+     */
+    public int getHeldPlacesExcluding(Long eventId, String holdId) {
+        int held = getHeldPlaces(eventId);
+        Hold own = holdId != null ? holds.get(holdId) : null;
+        if (own != null && own.eventId.equals(eventId)) {
+            held -= own.places;
+        }
+        return Math.max(0, held);
+    }
+
+    /**
+     * Number of holds currently open
+     */
+    public int getActiveHoldCount() {
+        return holds.size();
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Expire holds whose TTL has elapsed
+     */
+    @Scheduled(fixedRateString = "${eventbooking.seat-hold.tick-ms:1000}")
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        List<Hold> expired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(now, expired::add);
+        }
+        for (Hold hold : expired) {
+            synchronized (hold) {
+                // Skip holds renewed while the wheel was being advanced
+                if (hold.expiresAt > now) {
+                    continue;
+                }
+                holds.remove(hold.id, hold);
+                free(hold);
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.debug("{} seat holds expired", expired.size());
+        }
+    }
+
+    /**
+     * Add places to the event's held counter if the database still has them free of other holds
+     */
+    private void claim(Long eventId, int places, int alreadyHeldByCaller) {
+        int available = eventRepository.findPlacesDisponibles(eventId);
+        AtomicInteger held = counter(eventId);
+        int current;
+        do {
+            current = held.get();
+            int free = available - (current - alreadyHeldByCaller);
+            if (places + alreadyHeldByCaller > free) {
+                throw new BusinessException("Nombre de places insuffisant. Places disponibles: "
+                        + Math.max(0, free));
+            }
+        } while (!held.compareAndSet(current, current + places));
+    }
+
+    /**
+     * Count one more open hold for a user or session, refused once it already has the maximum
+     */
+    private static <K> void admit(Map<K, Integer> openHolds, K owner, int max) {
+        openHolds.compute(owner, (key, open) -> {
+            int count = open != null ? open : 0;
+            if (count >= max) {
+                throw new BusinessException("Vous avez déjà " + max
+                        + " réservations de places en cours, finalisez-en une avant d'en commencer une autre");
+            }
+            return count + 1;
+        });
+    }
+
+    private static <K> void leave(Map<K, Integer> openHolds, K owner) {
+        openHolds.computeIfPresent(owner, (key, open) -> open > 1 ? open - 1 : null);
+    }
+
+    private void free(Hold hold) {
+        synchronized (hold) {
+            if (hold.released) {
+                return;
+            }
+            hold.released = true;
+            counter(hold.eventId).addAndGet(-hold.places);
+            leave(holdsByUser, hold.userId);
+            leave(holdsBySession, hold.sessionId);
+        }
+        eventPublisher.publishEvent(new SeatsReleasedEvent(hold.eventId));
+    }
+
+    private void schedule(Hold hold) {
+        hold.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        synchronized (wheel) {
+            hold.timeout = wheel.schedule(hold, hold.expiresAt);
+        }
+    }
+
+    private void reschedule(Hold hold) {
+        synchronized (wheel) {
+            wheel.cancel(hold.timeout);
+        }
+        schedule(hold);
+    }
+
+    private AtomicInteger counter(Long eventId) {
+        return heldByEvent.computeIfAbsent(eventId, id -> new AtomicInteger());
+    }
+
+    private static final class Hold {
+        private final String id;
+        private final Long eventId;
+        private final Long userId;
+        private final String sessionId;
+        private volatile int places;
+        private boolean released;
+        private long expiresAt;
+        private HierarchicalTimingWheel.Timeout<Hold> timeout;
+
+        private Hold(String id, Long eventId, Long userId, String sessionId) {
+            this.id = id;
+            this.eventId = eventId;
+            this.userId = userId;
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the denormalized reserved places counters of events from the
+ * reservations table and reports any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventoryReconciler {
+
+    private final EventRepository eventRepository;
+    private final PopularEventsLeaderboard popularEventsLeaderboard;
+    private final AvailabilityCache availabilityCache;
+
+    /**
+     * Compare every counter with the reservations and rebuild the drifted ones.
+     * The comparison is one aggregate query; a drift it reports is confirmed
+     * with the drifted events locked, so a booking in flight is not mistaken for one.
+     */
+    @Scheduled(initialDelayString = "${eventbooking.inventory.reconciliation-delay-ms:900000}",
+            fixedDelayString = "${eventbooking.inventory.reconciliation-delay-ms:900000}")
+    @Transactional
+    public List<CounterDrift> reconcile() {
+        List<CounterDrift> suspected = findDrifts();
+        if (suspected.isEmpty()) {
+            log.debug("Seat inventory reconciled, no drift detected");
+            return List.of();
+        }
+
+        // Counters only move under the row lock: once held, both sides are stable
+        Set<Long> locked = eventRepository.findAllByIdForUpdate(
+                suspected.stream().map(CounterDrift::eventId).toList()).stream()
+                .map(Event::getId)
+                .collect(Collectors.toSet());
+        List<CounterDrift> drifts = findDrifts().stream()
+                .filter(d -> locked.contains(d.eventId()))
+                .toList();
+
+        for (CounterDrift drift : drifts) {
+            eventRepository.recomputePlacesReservees(drift.eventId());
+            popularEventsLeaderboard.resetAfterCommit(drift.eventId(), drift.actualValue());
+            availabilityCache.invalidateAfterCommit(drift.eventId());
+            log.warn("Seat inventory drift on event {} ({}): counter={}, reservations={}",
+                    drift.eventId(), drift.eventTitle(), drift.counterValue(), drift.actualValue());
+        }
+        return drifts;
+    }
+
+    private List<CounterDrift> findDrifts() {
+        return eventRepository.findPlacesReserveesDrifts().stream()
+                .map(row -> new CounterDrift((Long) row[0], (String) row[1], ((Number) row[2]).intValue(),
+                        ((Number) row[3]).intValue()))
+                .toList();
+    }
+
+    // DTO for a detected counter drift
+    public record CounterDrift(Long eventId, String eventTitle, int counterValue, int actualValue) {
+    }
+}
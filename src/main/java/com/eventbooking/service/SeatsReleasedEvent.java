@@ -0,0 +1,7 @@
+package com.eventbooking.service;
+
+/**
+ * Published when places of an event become free again (cancellation, released hold, larger capacity)
+ */
+public record SeatsReleasedEvent(Long eventId) {
+}
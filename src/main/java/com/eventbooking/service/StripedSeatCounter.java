@@ -0,0 +1,109 @@
+package com.eventbooking.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat counter split across padded shards.
+ * A claim only succeeds by decrementing shards that still hold enough seats,
+ * so the seats handed out can never exceed the seats put in. Claims that fit
+ * in one shard are lock-free; the rare claims spread over several shards are
+ * gathered one at a time, so two of them can never each hold part of the
+ * last seats and both be refused.
+ */
+public class StripedSeatCounter {
+
+    // 16 longs per shard keeps each shard on its own cache line
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray cells;
+    private final int shards;
+    private final Object collector = new Object();
+
+    public StripedSeatCounter(long seats) {
+        int wanted = Math.min(64, Runtime.getRuntime().availableProcessors() * 2);
+        this.shards = Integer.highestOneBit(Math.max(1, wanted - 1)) << 1;
+        this.cells = new AtomicLongArray(shards * PADDING);
+
+        long perShard = seats / shards;
+        long remainder = seats % shards;
+        for (int i = 0; i < shards; i++) {
+            cells.set(i * PADDING, perShard + (i < remainder ? 1 : 0));
+        }
+    }
+
+    /**
+     * Claim seats; returns false without side effect when not enough remain
+     */
+    public boolean tryClaim(int seats) {
+        int start = ThreadLocalRandom.current().nextInt(shards);
+
+        // Fast path: a single shard covers the whole claim
+        for (int i = 0; i < shards; i++) {
+            int cell = cell(start + i);
+            long value;
+            while ((value = cells.get(cell)) >= seats) {
+                if (cells.compareAndSet(cell, value, value - seats)) {
+                    return true;
+                }
+            }
+        }
+
+        // Slow path: gather the claim from several shards, sweeping again while a sweep
+        // still finds seats (released meanwhile), give back only once none are left
+        synchronized (collector) {
+            long[] taken = new long[shards];
+            long total = 0;
+            boolean found = true;
+            while (total < seats && found) {
+                found = false;
+                for (int i = 0; i < shards && total < seats; i++) {
+                    int shard = (start + i) & (shards - 1);
+                    int cell = shard * PADDING;
+                    long value;
+                    while ((value = cells.get(cell)) > 0) {
+                        long take = Math.min(value, seats - total);
+                        if (cells.compareAndSet(cell, value, value - take)) {
+                            taken[shard] += take;
+                            total += take;
+                            found = true;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (total == seats) {
+                return true;
+            }
+            for (int shard = 0; shard < shards; shard++) {
+                if (taken[shard] > 0) {
+                    cells.addAndGet(shard * PADDING, taken[shard]);
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Give seats back to the counter
+     */
+    public void release(int seats) {
+        cells.addAndGet(cell(ThreadLocalRandom.current().nextInt(shards)), seats);
+    }
+
+    /**
+     * Seats still available (a moving snapshot under concurrent claims)
+     */
+    public long available() {
+        long sum = 0;
+        for (int i = 0; i < shards; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    private int cell(int index) {
+        return (index & (shards - 1)) * PADDING;
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventbooking.service;
+
+/**
+ * Published when a user's profile, role or account status changes
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -8,7 +8,12 @@ import com.eventbooking.exception.ResourceNotFoundException;
 import com.eventbooking.repository.EventRepository;
 import com.eventbooking.repository.ReservationRepository;
 import com.eventbooking.repository.UserRepository;
+import com.eventbooking.repository.UserSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,10 +26,13 @@ import java.util.Optional;
 @Transactional
 public class UserService {
 
+    private static final Sort DEFAULT_PAGE_SORT = Sort.by("nomRecherche", "prenomRecherche");
+
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 1. Register new user (with validation and password hashing using BCrypt)
@@ -66,7 +74,9 @@ public class UserService {
         user.setPrenom(updatedUser.getPrenom());
         user.setTelephone(updatedUser.getTelephone());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        return saved;
     }
 
     /**
@@ -100,6 +110,7 @@ public class UserService {
 
         user.setActif(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     /**
@@ -111,6 +122,7 @@ public class UserService {
 
         user.setActif(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     /**
@@ -129,13 +141,29 @@ public class UserService {
     }
 
     /**
-     * List users with filters
+     * List users with filters (null for any)
      */
     public List<User> listUsers(Role role, Boolean actif) {
-        if (role != null && actif != null && actif) {
-            return userRepository.findByRoleAndActifTrue(role);
-        }
-        return userRepository.findAll();
+        return userRepository.findAll(UserSpecifications.matching(role, actif, null));
+    }
+
+    /**
+     * One page of users matching role, actif and name prefix (null for any)
+     */
+    @Transactional(readOnly = true)
+    public List<User> findUsers(Role role, Boolean actif, String name, Pageable pageable) {
+        // Id as a tie-breaker keeps page boundaries stable
+        Sort sort = (pageable.getSort().isSorted() ? pageable.getSort() : DEFAULT_PAGE_SORT).and(Sort.by("id"));
+        return userRepository.findAll(UserSpecifications.matching(role, actif, name),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)).getContent();
+    }
+
+    /**
+     * Count users matching role, actif and name prefix (null for any)
+     */
+    @Transactional(readOnly = true)
+    public int countUsers(Role role, Boolean actif, String name) {
+        return (int) userRepository.count(UserSpecifications.matching(role, actif, name));
     }
 
     /**
@@ -179,7 +207,9 @@ public class UserService {
         user.setEmail(updatedUser.getEmail());
         user.setTelephone(updatedUser.getTelephone());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        return saved;
     }
 
     /**
@@ -191,6 +221,7 @@ public class UserService {
 
         user.setActif(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     /**
@@ -202,6 +233,7 @@ public class UserService {
 
         user.setActif(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     /**
@@ -213,6 +245,7 @@ public class UserService {
 
         user.setRole(newRole);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     // DTO for user statistics
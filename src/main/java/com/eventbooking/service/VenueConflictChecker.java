@@ -0,0 +1,258 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Detects published events booked at the same venue over overlapping periods.
+ * <p>
+ * One {@link IntervalTree} per venue (lieu and ville, accents and case
+ * ignored), so checking a new booking costs O(log n) in the events of that
+ * venue. Rebuilt at startup and updated after each committed event change.
+ * A transaction publishing an event books its slot with {@link #reserve}:
+ * the check and the booking are one atomic step, and the slot stays taken
+ * until the transaction completes, so two concurrent transactions can never
+ * both get it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VenueConflictChecker {
+
+    private static final int REBUILD_PAGE_SIZE = 5_000;
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private final Map<String, IntervalTree> treesByVenue = new HashMap<>();
+    private final Map<Long, String> venueByEvent = new HashMap<>();
+    // Slots booked by transactions still in flight
+    private final Map<String, IntervalTree> pendingByVenue = new HashMap<>();
+    private final Map<Long, String> pendingVenueByEvent = new HashMap<>();
+
+    /**
+     * Ids of the published events booking a venue during [from, to), other than the event itself
+     */
+    public List<Long> conflicts(Long eventId, String lieu, String ville, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return conflictsLocked(eventId, venueKey(lieu, ville), from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Book a venue during [from, to) for an event the current transaction publishes, if no other
+     * event books it. Returns the conflicting ids (nothing booked then), or an empty list once
+     * booked; the booking is held until the transaction commits or rolls back.
+     */
+    public List<Long> reserve(Long eventId, String lieu, String ville, LocalDateTime from, LocalDateTime to) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Nothing to hold the slot for: the change is already visible
+            return conflicts(eventId, lieu, ville, from, to);
+        }
+        String venue = venueKey(lieu, ville);
+        lock.writeLock().lock();
+        try {
+            List<Long> conflicts = conflictsLocked(eventId, venue, from, to);
+            if (!conflicts.isEmpty()) {
+                return conflicts;
+            }
+            removePendingLocked(eventId);
+            pendingByVenue.computeIfAbsent(venue, v -> new IntervalTree()).put(eventId, from, to);
+            pendingVenueByEvent.put(eventId, venue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // On commit the published event itself is indexed (indexAfterCommit runs before completion)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.writeLock().lock();
+                try {
+                    removePendingLocked(eventId);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+        return List.of();
+    }
+
+    /**
+     * Every pair of published events already clashing, venues scanned in parallel
+     */
+    public List<Conflict> findAllConflicts() {
+        lock.readLock().lock();
+        try {
+            // Writers wait for the read lock, so the trees stay still while the workers read them
+            return treesByVenue.values().parallelStream()
+                    .flatMap(tree -> tree.overlappingPairs().stream())
+                    .map(pair -> new Conflict(pair[0], pair[1]))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Book or release an event's venue once the current transaction commits (only published events book it)
+     */
+    public void indexAfterCommit(Event event) {
+        Long eventId = event.getId();
+        String venue = venueKey(event.getLieu(), event.getVille());
+        LocalDateTime start = event.getDateDebut();
+        LocalDateTime end = event.getDateFin();
+        boolean booked = event.getStatut() == StatutEvent.PUBLIE;
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(eventId);
+                if (booked) {
+                    putLocked(eventId, venue, start, end);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Release an event's venue once the current transaction commits
+     */
+    public void removeAfterCommit(Long eventId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(eventId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Book or free the venue of a changed event
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            removeAfterCommit(change.eventId());
+        } else {
+            indexAfterCommit(change.event());
+        }
+    }
+
+    /**
+     * Number of indexed events
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return venueByEvent.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild every venue from the published events, page by page
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            treesByVenue.clear();
+            venueByEvent.clear();
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = eventRepository.findVenueBookingsAfter(StatutEvent.PUBLIE, afterId,
+                        PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (Object[] row : page) {
+                    afterId = (Long) row[0];
+                    putLocked(afterId, venueKey((String) row[1], (String) row[2]), (LocalDateTime) row[3],
+                            (LocalDateTime) row[4]);
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Venue conflict index rebuilt: {} events", size());
+    }
+
+    private List<Long> conflictsLocked(Long eventId, String venue, LocalDateTime from, LocalDateTime to) {
+        List<Long> conflicts = new ArrayList<>();
+        for (Map<String, IntervalTree> trees : List.of(treesByVenue, pendingByVenue)) {
+            IntervalTree tree = trees.get(venue);
+            if (tree != null) {
+                tree.overlapping(from, to).stream()
+                        .filter(id -> !id.equals(eventId) && !conflicts.contains(id))
+                        .forEach(conflicts::add);
+            }
+        }
+        return conflicts;
+    }
+
+    private void putLocked(Long eventId, String venue, LocalDateTime start, LocalDateTime end) {
+        treesByVenue.computeIfAbsent(venue, v -> new IntervalTree()).put(eventId, start, end);
+        venueByEvent.put(eventId, venue);
+    }
+
+    private void removeLocked(Long eventId) {
+        String venue = venueByEvent.remove(eventId);
+        if (venue == null) {
+            return;
+        }
+        IntervalTree tree = treesByVenue.get(venue);
+        tree.remove(eventId);
+        if (tree.isEmpty()) {
+            treesByVenue.remove(venue);
+        }
+    }
+
+    private void removePendingLocked(Long eventId) {
+        String venue = pendingVenueByEvent.remove(eventId);
+        if (venue == null) {
+            return;
+        }
+        IntervalTree tree = pendingByVenue.get(venue);
+        tree.remove(eventId);
+        if (tree.isEmpty()) {
+            pendingByVenue.remove(venue);
+        }
+    }
+
+    private static String venueKey(String lieu, String ville) {
+        return WeightedPrefixTrie.fold(lieu) + "|" + WeightedPrefixTrie.fold(ville);
+    }
+
+    /**
+     * Two published events booking the same venue over overlapping periods
+     */
+    public record Conflict(Long eventId, Long otherEventId) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.exception.BusinessException;
+import com.eventbooking.exception.ResourceNotFoundException;
+import com.eventbooking.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual waiting room for high-demand on-sales.
+ * <p>
+ * Each visitor of an event with an open room draws a ticket from a counter;
+ * a scheduled ticker raises the admission watermark at a fixed rate and every
+ * ticket at or below it may open the reservation form. Waiting costs two
+ * atomic reads and never touches the database. Tickets belong to one opening
+ * of a room: once it is closed and opened again, earlier tickets are no longer
+ * valid. Rooms live in memory and are closed by a restart.
+ */
+@Service
+@Slf4j
+public class WaitingRoomService {
+
+    private final EventRepository eventRepository;
+    private final int defaultAdmissionsPerSecond;
+
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong openings = new AtomicLong();
+
+    public WaitingRoomService(EventRepository eventRepository,
+            @Value("${eventbooking.waiting-room.admissions-per-second:50}") int defaultAdmissionsPerSecond) {
+        this.eventRepository = eventRepository;
+        this.defaultAdmissionsPerSecond = defaultAdmissionsPerSecond;
+    }
+
+    /**
+     * Open the waiting room of a published event at the default admission rate
+     */
+    public void open(Long eventId) {
+        open(eventId, defaultAdmissionsPerSecond);
+    }
+
+    /**
+     * Open the waiting room of a published event, admitting the given number of visitors per second
+     */
+    public void open(Long eventId, int admissionsPerSecond) {
+        if (admissionsPerSecond < 1) {
+            throw new BusinessException("Le débit d'admission doit être d'au moins 1 visiteur par seconde");
+        }
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé"));
+        if (event.getStatut() != StatutEvent.PUBLIE) {
+            throw new BusinessException("Seuls les événements publiés peuvent avoir une file d'attente");
+        }
+
+        rooms.computeIfAbsent(eventId, id -> new Room(openings.incrementAndGet(), event.getTitre(),
+                admissionsPerSecond));
+        log.info("Waiting room opened for event {} at {} admissions/s", eventId, admissionsPerSecond);
+    }
+
+    /**
+     * Close the waiting room: everyone may book again
+     */
+    public void close(Long eventId) {
+        Room room = rooms.remove(eventId);
+        if (room != null) {
+            room.notifyListeners();
+            log.info("Waiting room closed for event {} after {} tickets", eventId, room.lastTicket.get());
+        }
+    }
+
+    public boolean isOpen(Long eventId) {
+        return rooms.containsKey(eventId);
+    }
+
+    /**
+     * Draw the next ticket of an event's queue (null when the room is closed)
+     */
+    public Ticket join(Long eventId) {
+        Room room = rooms.get(eventId);
+        return room != null ? new Ticket(room.opening, room.lastTicket.incrementAndGet()) : null;
+    }
+
+    /**
+     * Check if a ticket was drawn in the currently open room of an event
+     */
+    public boolean isCurrent(Long eventId, Ticket ticket) {
+        Room room = rooms.get(eventId);
+        return room != null && ticket != null && ticket.opening() == room.opening;
+    }
+
+    /**
+     * Check if a ticket may enter the reservation form (always true when the room is closed)
+     */
+    public boolean isAdmitted(Long eventId, Ticket ticket) {
+        Room room = rooms.get(eventId);
+        return room == null
+                || (ticket != null && ticket.opening() == room.opening && ticket.number() <= room.admittedUpTo);
+    }
+
+    /**
+     * Number of visitors ahead of a ticket (0 once admitted)
+     */
+    public long getPosition(Long eventId, Ticket ticket) {
+        Room room = rooms.get(eventId);
+        return room != null ? Math.max(0, ticket.number() - room.admittedUpTo) : 0;
+    }
+
+    /**
+     * Estimated wait in seconds for a ticket
+     */
+    public long getEstimatedWaitSeconds(Long eventId, Ticket ticket) {
+        Room room = rooms.get(eventId);
+        return room != null ? (getPosition(eventId, ticket) + room.admissionsPerSecond - 1) / room.admissionsPerSecond
+                : 0;
+    }
+
+    /**
+     * Number of visitors still waiting for an event
+     */
+    public long getWaitingCount(Long eventId) {
+        Room room = rooms.get(eventId);
+        return room != null ? Math.max(0, room.lastTicket.get() - room.admittedUpTo) : 0;
+    }
+
+    /**
+     * Title of the event behind an open room (null when closed)
+     */
+    public String getEventTitle(Long eventId) {
+        Room room = rooms.get(eventId);
+        return room != null ? room.titre : null;
+    }
+
+    /**
+     * Be called back after each admission step of an event's room; run the returned handle to unsubscribe
+     */
+    public Runnable subscribe(Long eventId, Runnable listener) {
+        Room room = rooms.get(eventId);
+        if (room == null) {
+            return () -> {
+            };
+        }
+        room.listeners.add(listener);
+        return () -> room.listeners.remove(listener);
+    }
+
+    /**
+     * Raise the admission watermark of every open room
+     */
+    @Scheduled(fixedRateString = "${eventbooking.waiting-room.tick-ms:1000}")
+    public void admit() {
+        long now = System.nanoTime();
+        for (Room room : rooms.values()) {
+            if (room.advance(now)) {
+                room.notifyListeners();
+            }
+        }
+    }
+
+    // A place in the queue of one opening of a room
+    public record Ticket(long opening, long number) {
+    }
+
+    private static final class Room {
+        private final long opening;
+        private final String titre;
+        private final int admissionsPerSecond;
+        private final AtomicLong lastTicket = new AtomicLong();
+        private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+        private volatile long admittedUpTo;
+        private long lastAdvanceNanos = System.nanoTime();
+        private double credit;
+
+        private Room(long opening, String titre, int admissionsPerSecond) {
+            this.opening = opening;
+            this.titre = titre;
+            this.admissionsPerSecond = admissionsPerSecond;
+        }
+
+        /**
+         * Admit the visitors earned since the last step; unused slots are not banked
+         */
+        private boolean advance(long now) {
+            credit += (now - lastAdvanceNanos) / 1e9 * admissionsPerSecond;
+            lastAdvanceNanos = now;
+
+            long waiting = lastTicket.get() - admittedUpTo;
+            long admitted = Math.min((long) credit, waiting);
+            credit = waiting > admitted ? credit - admitted : 0;
+            if (admitted == 0) {
+                return false;
+            }
+            admittedUpTo += admitted;
+            return true;
+        }
+
+        private void notifyListeners() {
+            for (Runnable listener : listeners) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    log.debug("Waiting room listener failed", e);
+                }
+            }
+        }
+    }
+}
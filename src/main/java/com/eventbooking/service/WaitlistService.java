@@ -0,0 +1,249 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.Reservation;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.entity.WaitlistEntry;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.StatutListeAttente;
+import com.eventbooking.exception.BusinessException;
+import com.eventbooking.exception.ForbiddenException;
+import com.eventbooking.exception.ResourceNotFoundException;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.WaitlistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waitlist of sold out events.
+ * <p>
+ * Released places never promote anyone inline: the event is only marked dirty
+ * once the releasing transaction commits. A background worker then walks the
+ * event's waiting entries in FIFO order (keyset pages on the
+ * (evenement_id, statut, id) index) and books the first entries that fit, a
+ * bounded batch per event and per run, resuming from a cursor on the next run.
+ * The dirty set lives in memory only: at startup, every event with places
+ * left and someone waiting is marked again. Events in flash sale mode stay
+ * dirty without being promoted: their seats are sold from the in-memory
+ * ledger, and a promotion would wait on the write-behind worker.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final ReservationService reservationService;
+    private final SeatHoldService seatHoldService;
+    private final FlashSaleService flashSaleService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${eventbooking.waitlist.batch-size:100}")
+    private int batchSize;
+
+    private final Set<Long> dirtyEvents = ConcurrentHashMap.newKeySet();
+    // Last entry id examined per event while a promotion pass is in progress
+    private final Map<Long, Long> cursors = new ConcurrentHashMap<>();
+
+    /**
+     * 1. Join the waitlist of a published event
+     */
+    public WaitlistEntry join(User user, Long eventId, int places) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé"));
+
+        if (event.getStatut() != StatutEvent.PUBLIE) {
+            throw new BusinessException("Seuls les événements publiés ont une liste d'attente");
+        }
+        if (places < 1 || places > 10) {
+            throw new BusinessException("Le nombre de places doit être entre 1 et 10");
+        }
+        if (waitlistRepository.existsByUtilisateurIdAndEvenementIdAndStatut(user.getId(), eventId,
+                StatutListeAttente.EN_ATTENTE)) {
+            throw new BusinessException("Vous êtes déjà sur la liste d'attente de cet événement");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .utilisateur(user)
+                .evenement(event)
+                .nombrePlaces(places)
+                .statut(StatutListeAttente.EN_ATTENTE)
+                .build());
+
+        // Places may have been freed while the user was deciding
+        dirtyEvents.add(eventId);
+        return entry;
+    }
+
+    /**
+     * 2. Leave a waitlist
+     */
+    public void leave(Long entryId, User user) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inscription non trouvée"));
+
+        if (!entry.getUtilisateur().getId().equals(user.getId())) {
+            throw new ForbiddenException("Vous ne pouvez pas modifier cette inscription");
+        }
+        if (entry.getStatut() == StatutListeAttente.EN_ATTENTE) {
+            entry.setStatut(StatutListeAttente.ANNULEE);
+            waitlistRepository.save(entry);
+        }
+    }
+
+    /**
+     * 3. Waitlist entries of a user (event loaded)
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getUserEntries(Long userId) {
+        return waitlistRepository.findByUtilisateurWithEvenement(userId);
+    }
+
+    /**
+     * 4. Position of a waiting entry (1 = next served)
+     */
+    @Transactional(readOnly = true)
+    public long getPosition(WaitlistEntry entry) {
+        return waitlistRepository.countWaitingBefore(entry.getEvenement().getId(), entry.getId()) + 1;
+    }
+
+    /**
+     * Mark an event for promotion once the transaction that released its places has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        dirtyEvents.add(event.eventId());
+    }
+
+    /**
+     * Mark the events a previous run may have left dirty: places left and someone still waiting
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void markPendingEvents() {
+        List<Long> eventIds = waitlistRepository.findEventIdsWithWaitersAndFreePlaces();
+        dirtyEvents.addAll(eventIds);
+        log.info("Waitlist promotion pending for {} events", eventIds.size());
+    }
+
+    /**
+     * Background worker: promote waiters of dirty events, one bounded batch per event and per run
+     */
+    @Scheduled(fixedDelayString = "${eventbooking.waitlist.promotion-delay-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized void promoteWaiters() {
+        for (Long eventId : List.copyOf(dirtyEvents)) {
+            dirtyEvents.remove(eventId);
+            try {
+                if (promoteBatch(eventId)) {
+                    dirtyEvents.add(eventId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Waitlist promotion failed for event {}, retrying on next run", eventId, e);
+                dirtyEvents.add(eventId);
+            }
+        }
+    }
+
+    /**
+     * Promote the next batch of waiters; returns true if the pass must continue on the next run
+     */
+    private boolean promoteBatch(Long eventId) {
+        // Held until the flash sale ends, then promoted against the database
+        if (isFlashSale(eventId)) {
+            return true;
+        }
+
+        int available = availablePlaces(eventId);
+        if (available <= 0) {
+            cursors.remove(eventId);
+            return false;
+        }
+
+        Long cursor = cursors.getOrDefault(eventId, 0L);
+        List<WaitlistEntry> batch = waitlistRepository.findWaitingAfter(eventId, cursor, PageRequest.of(0, batchSize));
+
+        for (WaitlistEntry entry : batch) {
+            cursor = entry.getId();
+            if (entry.getNombrePlaces() > available) {
+                continue;
+            }
+            if (promote(entry.getId())) {
+                available -= entry.getNombrePlaces();
+            } else {
+                available = availablePlaces(eventId);
+            }
+            if (available <= 0) {
+                break;
+            }
+        }
+
+        // Pass over: either nothing left to give or the whole queue was examined
+        if (available <= 0 || batch.size() < batchSize) {
+            cursors.remove(eventId);
+            return false;
+        }
+        cursors.put(eventId, cursor);
+        return true;
+    }
+
+    /**
+     * Book the places of one entry in its own transaction
+     */
+    private boolean promote(Long entryId) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                WaitlistEntry entry = waitlistRepository.findById(entryId).orElse(null);
+                if (entry == null || entry.getStatut() != StatutListeAttente.EN_ATTENTE) {
+                    return false;
+                }
+                Reservation reservation = reservationService.createReservation(Reservation.builder()
+                        .utilisateur(entry.getUtilisateur())
+                        .evenement(entry.getEvenement())
+                        .nombrePlaces(entry.getNombrePlaces())
+                        .commentaire("Attribuée depuis la liste d'attente")
+                        .build());
+
+                entry.setStatut(StatutListeAttente.PROMUE);
+                entry.setCodeReservation(reservation.getCodeReservation());
+                log.info("Waitlist entry {} promoted to reservation {}", entryId, reservation.getCodeReservation());
+                return true;
+            }));
+        } catch (BusinessException e) {
+            log.debug("Waitlist entry {} could not be promoted: {}", entryId, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isFlashSale(Long eventId) {
+        return flashSaleService.isActive(eventId) || eventRepository.findById(eventId)
+                .map(event -> Boolean.TRUE.equals(event.getModeVenteFlash()))
+                .orElse(false);
+    }
+
+    private int availablePlaces(Long eventId) {
+        return eventRepository.findById(eventId)
+                .filter(event -> event.getStatut() == StatutEvent.PUBLIE)
+                .map(event -> event.getPlacesDisponibles() - seatHoldService.getHeldPlaces(eventId))
+                .orElse(0);
+    }
+}
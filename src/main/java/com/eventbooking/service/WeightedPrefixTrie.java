@@ -0,0 +1,192 @@
+package com.eventbooking.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix trie of weighted values for typeahead.
+ * <p>
+ * Keys are folded (lower case, accents and repeated spaces removed), so
+ * "fes", "Fès" and "FES" share an entry; the value keeps the spelling it was
+ * first added with. Children are stored in sorted parallel arrays rather
+ * than maps, and every node knows the highest weight below it, so the top
+ * suggestions for a prefix are found best-first without visiting the rest of
+ * the subtree. Not thread-safe.
+ */
+public class WeightedPrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+
+    /**
+     * Add a weight to a value (negative to remove); a value reaching 0 is dropped
+     */
+    public void add(String value, int delta) {
+        String key = fold(value);
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                if (delta < 0) {
+                    return;
+                }
+                child = node.addChild(key.charAt(i));
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+
+        node.weight = Math.max(0, node.weight + delta);
+        if (node.weight == 0) {
+            node.value = null;
+        } else if (node.value == null) {
+            node.value = value.trim();
+        }
+
+        // Refresh the subtree maxima bottom-up and prune empty branches
+        for (int i = key.length(); i >= 0; i--) {
+            Node current = path[i];
+            current.updateMaxWeight();
+            if (i > 0 && current.maxWeight == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * Values starting with a prefix (folded), heaviest first
+     */
+    public List<String> suggest(String prefix, int limit) {
+        return suggestWeighted(prefix, limit).stream().map(Suggestion::value).toList();
+    }
+
+    /**
+     * Values starting with a prefix (folded) with their weights, heaviest first
+     */
+    public List<Suggestion> suggestWeighted(String prefix, int limit) {
+        List<Suggestion> suggestions = new ArrayList<>(Math.max(0, limit));
+        Node node = root;
+        String key = fold(prefix);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null || limit <= 0) {
+            return suggestions;
+        }
+
+        // Nodes ranked by the best weight below them, values by their own weight
+        PriorityQueue<Candidate> queue = new PriorityQueue<>((a, b) -> Integer.compare(b.score, a.score));
+        queue.add(new Candidate(node, node.maxWeight, false));
+        while (!queue.isEmpty() && suggestions.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.terminal) {
+                suggestions.add(new Suggestion(candidate.node.value, candidate.node.weight));
+                continue;
+            }
+            if (candidate.node.weight > 0) {
+                queue.add(new Candidate(candidate.node, candidate.node.weight, true));
+            }
+            for (Node child : candidate.node.children) {
+                queue.add(new Candidate(child, child.maxWeight, false));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Weight of a value, 0 when absent
+     */
+    public int weight(String value) {
+        Node node = root;
+        String key = fold(value);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node == null ? 0 : node.weight;
+    }
+
+    /**
+     * Lower case, without accents or repeated spaces
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replaceAll("\\s+", " ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // A value and its weight
+    public record Suggestion(String value, int weight) {
+    }
+
+    private record Candidate(Node node, int score, boolean terminal) {
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int weight;
+        private int maxWeight;
+        private String value;
+
+        private Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node addChild(char c) {
+            int i = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            Node child = new Node();
+            newKeys[i] = c;
+            newChildren[i] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        private void updateMaxWeight() {
+            int max = weight;
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+}
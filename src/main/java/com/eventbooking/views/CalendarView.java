@@ -0,0 +1,153 @@
+package com.eventbooking.views;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.service.EventService;
+import com.eventbooking.service.EventService.PeriodSearch;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.datepicker.DatePicker;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.auth.AnonymousAllowed;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.stream.Stream;
+
+/**
+ * Published events taking place during a period, multi-day events included
+ */
+@Route(value = "calendar", layout = MainLayout.class)
+@PageTitle("Agenda | Event Booking")
+@AnonymousAllowed
+public class CalendarView extends VerticalLayout {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final EventService eventService;
+    private final Grid<Event> grid = new Grid<>(Event.class, false);
+
+    private final DatePicker fromField = new DatePicker("Du");
+    private final DatePicker toField = new DatePicker("Au");
+    private final Span summary = new Span();
+
+    // Events of the shown period, paged by the grid
+    private PeriodSearch period;
+
+    public CalendarView(EventService eventService) {
+        this.eventService = eventService;
+
+        setSizeFull();
+        setPadding(true);
+
+        H2 title = new H2("Agenda des événements");
+
+        createGrid();
+        add(title, createPeriodLayout(), summary, grid);
+
+        showWeekend();
+    }
+
+    private HorizontalLayout createPeriodLayout() {
+        // Periods set by the buttons are loaded once by showPeriod
+        fromField.addValueChangeListener(e -> {
+            if (e.isFromClient()) {
+                loadEvents();
+            }
+        });
+        toField.addValueChangeListener(e -> {
+            if (e.isFromClient()) {
+                loadEvents();
+            }
+        });
+
+        Button weekendButton = new Button("Ce week-end", e -> showWeekend());
+        Button weekButton = new Button("Cette semaine", e -> showPeriod(
+                LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))));
+        Button monthButton = new Button("Ce mois", e -> showPeriod(
+                LocalDate.now().withDayOfMonth(1),
+                LocalDate.now().with(TemporalAdjusters.lastDayOfMonth())));
+        weekendButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        weekButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        monthButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+
+        HorizontalLayout layout = new HorizontalLayout(fromField, toField, weekendButton, weekButton, monthButton);
+        layout.setAlignItems(Alignment.END);
+        return layout;
+    }
+
+    private void createGrid() {
+        grid.addColumn(event -> event.getCategorie().getIcon() + " " + event.getCategorie().getLabel())
+                .setHeader("Catégorie")
+                .setAutoWidth(true);
+
+        grid.addColumn(Event::getTitre)
+                .setHeader("Titre")
+                .setAutoWidth(true);
+
+        grid.addColumn(Event::getVille)
+                .setHeader("Ville")
+                .setAutoWidth(true);
+
+        grid.addColumn(event -> event.getDateDebut().format(DATE_FORMATTER))
+                .setHeader("Début")
+                .setAutoWidth(true);
+
+        grid.addColumn(event -> event.getDateFin().format(DATE_FORMATTER))
+                .setHeader("Fin")
+                .setAutoWidth(true);
+
+        grid.addComponentColumn(event -> {
+            Button viewButton = new Button("Voir détails");
+            viewButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_PRIMARY);
+            viewButton
+                    .addClickListener(e -> getUI().ifPresent(ui -> ui.navigate(EventDetailView.class, event.getId())));
+            return viewButton;
+        }).setHeader("Actions");
+
+        grid.setHeight("600px");
+        grid.setItems(query -> period == null ? Stream.empty()
+                : eventService.findEventsOverlapping(period, query.getOffset(), query.getLimit()).stream(),
+                query -> period == null ? 0 : period.size());
+    }
+
+    private void showWeekend() {
+        LocalDate saturday = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.SATURDAY));
+        if (LocalDate.now().getDayOfWeek() == DayOfWeek.SUNDAY) {
+            saturday = LocalDate.now().minusDays(1);
+        }
+        showPeriod(saturday, saturday.plusDays(1));
+    }
+
+    private void showPeriod(LocalDate from, LocalDate to) {
+        fromField.setValue(from);
+        toField.setValue(to);
+        loadEvents();
+    }
+
+    private void loadEvents() {
+        LocalDate from = fromField.getValue();
+        LocalDate to = toField.getValue();
+        if (from == null || to == null || to.isBefore(from)) {
+            period = null;
+            grid.getDataProvider().refreshAll();
+            summary.setText("Choisissez une période valide");
+            return;
+        }
+
+        // Whole days: from the first day's midnight to the midnight after the last day
+        period = eventService.searchEventsOverlapping(from.atStartOfDay(), to.plusDays(1).atStartOfDay(),
+                StatutEvent.PUBLIE);
+        grid.getDataProvider().refreshAll();
+        summary.setText(period.size() + " événement(s) sur la période");
+    }
+}
@@ -2,6 +2,7 @@ package com.eventbooking.views;
 
 import com.eventbooking.domain.entity.Event;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.WaitingRoomService;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
@@ -18,12 +19,14 @@ import java.time.format.DateTimeFormatter;
 public class EventDetailView extends VerticalLayout implements HasUrlParameter<Long> {
 
     private final EventService eventService;
+    private final WaitingRoomService waitingRoomService;
     private Event event;
 
     private VerticalLayout contentLayout;
 
-    public EventDetailView(EventService eventService) {
+    public EventDetailView(EventService eventService, WaitingRoomService waitingRoomService) {
         this.eventService = eventService;
+        this.waitingRoomService = waitingRoomService;
 
         setSizeFull();
         setPadding(true);
@@ -112,10 +115,10 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<L
                 .set("margin", "20px 0");
 
         // Reserve button
-        Button reserveButton = new Button("Réserver maintenant");
+        Button reserveButton = new Button(availableSeats > 0 ? "Réserver maintenant" : "Rejoindre la liste d'attente");
         reserveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_LARGE);
-        reserveButton.setEnabled(availableSeats > 0);
-        reserveButton.addClickListener(e -> getUI().ifPresent(ui -> ui.navigate("reserve/" + event.getId())));
+        reserveButton.addClickListener(e -> getUI().ifPresent(ui -> ui.navigate(
+                (waitingRoomService.isOpen(event.getId()) ? "waiting-room/" : "reserve/") + event.getId())));
 
         Button backButton = new Button("← Retour aux événements",
                 e -> getUI().ifPresent(ui -> ui.navigate(EventListView.class)));
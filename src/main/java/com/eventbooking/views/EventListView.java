@@ -3,7 +3,17 @@ package com.eventbooking.views;
 import com.eventbooking.domain.entity.Event;
 import com.eventbooking.domain.enums.Categorie;
 import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.TranchePrix;
+import com.eventbooking.domain.enums.VilleMaroc;
+import com.eventbooking.service.EventFacetService;
+import com.eventbooking.service.EventFacetService.EventFacets;
+import com.eventbooking.service.EventSearchIndex.Cursor;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.EventService.NearbyEvent;
+import com.eventbooking.service.EventService.NearbySearch;
+import com.eventbooking.service.EventService.TextSearchPage;
+import com.eventbooking.service.PlaceAutocomplete;
+import com.eventbooking.service.PlaceAutocomplete.VilleSuggestion;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -13,31 +23,61 @@ import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Route(value = "events", layout = MainLayout.class)
 @PageTitle("Événements | Event Booking")
 @AnonymousAllowed
 public class EventListView extends VerticalLayout {
 
+    private static final int MAX_PAGE_CURSORS = 200;
+
     private final EventService eventService;
-    private final Grid<Event> grid = new Grid<>(Event.class, false);
+    private final EventFacetService eventFacetService;
+    private final PlaceAutocomplete placeAutocomplete;
+    private final Grid<NearbyEvent> grid = new Grid<>(NearbyEvent.class, false);
 
     private TextField searchField;
     private ComboBox<Categorie> categorieFilter;
     private ComboBox<String> villeFilter;
+    private ComboBox<Integer> rayonFilter;
+    private final Span prixFacets = new Span();
+    private Grid.Column<NearbyEvent> distanceColumn;
 
-    private List<Event> allEvents;
+    private CallbackDataProvider<NearbyEvent, Void> dataProvider;
+    private EventFacets facets;
+    // Events per suggested city under the selected categorie, from the same suggestions as the items
+    private final Map<String, Integer> villeCounts = new HashMap<>();
+    // Proximity search of the current filters, null without a radius
+    private NearbySearch nearbySearch;
+    // Last full-text hit before each offset already served, so scrolling on resumes with searchAfter
+    private final Map<Integer, Cursor> pageCursors = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Cursor> eldest) {
+            return size() > MAX_PAGE_CURSORS;
+        }
+    };
 
-    public EventListView(EventService eventService) {
+    public EventListView(EventService eventService, EventFacetService eventFacetService,
+            PlaceAutocomplete placeAutocomplete) {
         this.eventService = eventService;
+        this.eventFacetService = eventFacetService;
+        this.placeAutocomplete = placeAutocomplete;
 
         setSizeFull();
         setPadding(true);
@@ -47,59 +87,102 @@ public class EventListView extends VerticalLayout {
         createFilters();
         createGrid();
 
-        add(title, createFilterLayout(), grid);
+        add(title, createFilterLayout(), prixFacets, grid);
 
         loadEvents();
     }
 
     private void createFilters() {
         searchField = new TextField("Rechercher");
-        searchField.setPlaceholder("Titre de l'événement...");
+        searchField.setPlaceholder("Titre, lieu, ville...");
         searchField.setClearButtonVisible(true);
         searchField.setValueChangeMode(ValueChangeMode.LAZY);
         searchField.addValueChangeListener(e -> applyFilters());
 
+        // Counts next to each value; cities are suggested from memory as the user types, with their own counts
         categorieFilter = new ComboBox<>("Catégorie");
         categorieFilter.setItems(Categorie.values());
-        categorieFilter.setItemLabelGenerator(Categorie::getLabel);
+        categorieFilter.setItemLabelGenerator(c -> c.getLabel() + " (" + facets.count(c) + ")");
         categorieFilter.setClearButtonVisible(true);
-        categorieFilter.addValueChangeListener(e -> applyFilters());
+        categorieFilter.addValueChangeListener(e -> onFacetFilterChanged());
 
         villeFilter = new ComboBox<>("Ville");
-        villeFilter.setItems("Casablanca", "Rabat", "Marrakech", "Tanger", "Fès");
+        villeFilter.setItems(query -> {
+            List<VilleSuggestion> suggestions = placeAutocomplete.suggestVilles(query.getFilter().orElse(""),
+                    categorieFilter.getValue(), query.getOffset() + query.getLimit());
+            suggestions.forEach(suggestion -> villeCounts.put(suggestion.ville(), suggestion.events()));
+            return suggestions.stream().skip(query.getOffset()).map(VilleSuggestion::ville);
+        });
+        villeFilter.setItemLabelGenerator(v -> v + " (" + villeCounts.getOrDefault(v, 0) + ")");
         villeFilter.setClearButtonVisible(true);
-        villeFilter.addValueChangeListener(e -> applyFilters());
+        villeFilter.addValueChangeListener(e -> onFacetFilterChanged());
+
+        // With a radius, the city becomes the centre of a proximity search sorted by distance
+        rayonFilter = new ComboBox<>("Rayon");
+        rayonFilter.setItems(10, 25, 50, 100, 200);
+        rayonFilter.setItemLabelGenerator(r -> r + " km");
+        rayonFilter.setHelperText("Autour de la ville choisie");
+        rayonFilter.setClearButtonVisible(true);
+        rayonFilter.addValueChangeListener(e -> applyFilters());
+
+        refreshFacets();
+    }
+
+    private void onFacetFilterChanged() {
+        refreshFacets();
+        applyFilters();
+    }
+
+    private void refreshFacets() {
+        facets = eventFacetService.getFacets(StatutEvent.PUBLIE, categorieFilter.getValue(), villeFilter.getValue());
+        categorieFilter.getListDataView().refreshAll();
+        // Price ranges under the categorie and ville filters, from the same facet counts
+        prixFacets.setText("Prix : " + Arrays.stream(TranchePrix.values())
+                .map(tranche -> tranche.getLabel() + " (" + facets.count(tranche) + ")")
+                .collect(Collectors.joining(" · ")));
+        villeCounts.clear();
+        villeFilter.getLazyDataView().refreshAll();
     }
 
     private HorizontalLayout createFilterLayout() {
         HorizontalLayout layout = new HorizontalLayout();
         layout.setWidthFull();
-        layout.add(searchField, categorieFilter, villeFilter);
+        layout.add(searchField, categorieFilter, villeFilter, rayonFilter);
         return layout;
     }
 
     private void createGrid() {
-        grid.addColumn(event -> event.getCategorie().getIcon() + " " + event.getCategorie().getLabel())
+        grid.addColumn(n -> n.event().getCategorie().getIcon() + " " + n.event().getCategorie().getLabel())
                 .setHeader("Catégorie")
                 .setAutoWidth(true);
 
-        grid.addColumn(Event::getTitre)
+        grid.addColumn(n -> n.event().getTitre())
                 .setHeader("Titre")
+                .setSortProperty("titre")
                 .setAutoWidth(true);
 
-        grid.addColumn(Event::getVille)
+        grid.addColumn(n -> n.event().getVille())
                 .setHeader("Ville")
+                .setSortProperty("ville")
                 .setAutoWidth(true);
 
-        grid.addColumn(event -> event.getDateDebut().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
+        distanceColumn = grid.addColumn(n -> String.format("%.1f km", n.distanceKm()))
+                .setHeader("Distance")
+                .setAutoWidth(true);
+        distanceColumn.setVisible(false);
+
+        grid.addColumn(n -> n.event().getDateDebut().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
                 .setHeader("Date")
+                .setSortProperty("dateDebut")
                 .setAutoWidth(true);
 
-        grid.addColumn(event -> event.getPrixUnitaire() + " DH")
+        grid.addColumn(n -> n.event().getPrixUnitaire() + " DH")
                 .setHeader("Prix")
+                .setSortProperty("prixUnitaire")
                 .setAutoWidth(true);
 
-        grid.addComponentColumn(event -> {
+        grid.addComponentColumn(n -> {
+            Event event = n.event();
             Span badge = new Span(event.getStatut().getLabel());
             badge.getElement().getThemeList().add("badge");
             badge.getStyle()
@@ -110,7 +193,8 @@ public class EventListView extends VerticalLayout {
             return badge;
         }).setHeader("Statut").setAutoWidth(true);
 
-        grid.addComponentColumn(event -> {
+        grid.addComponentColumn(n -> {
+            Event event = n.event();
             Button viewButton = new Button("Voir détails");
             viewButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_PRIMARY);
             viewButton
@@ -122,33 +206,54 @@ public class EventListView extends VerticalLayout {
     }
 
     private void loadEvents() {
-        allEvents = eventService.getPublishedEvents();
-        applyFilters();
-    }
-
-    private void applyFilters() {
-        List<Event> filtered = allEvents.stream()
-                .filter(event -> {
-                    if (searchField.getValue() != null && !searchField.getValue().isEmpty()) {
-                        return event.getTitre().toLowerCase()
-                                .contains(searchField.getValue().toLowerCase());
+        // Only the visible window is fetched; filters run in the database (or the full-text or geo index)
+        dataProvider = new CallbackDataProvider<>(
+                query -> {
+                    if (nearbySearch != null) {
+                        return eventService.findEventsNear(nearbySearch, query.getOffset(), query.getLimit())
+                                .stream();
                     }
-                    return true;
-                })
-                .filter(event -> {
-                    if (categorieFilter.getValue() != null) {
-                        return event.getCategorie().equals(categorieFilter.getValue());
+                    // No centre: the distance column is hidden
+                    String text = searchField.getValue();
+                    if (text != null && !text.isBlank()) {
+                        return fetchTextMatches(text, query.getOffset(), query.getLimit());
                     }
-                    return true;
-                })
-                .filter(event -> {
-                    if (villeFilter.getValue() != null) {
-                        return event.getVille().equals(villeFilter.getValue());
-                    }
-                    return true;
-                })
-                .collect(Collectors.toList());
+                    return eventService.findEventsPage(searchField.getValue(), StatutEvent.PUBLIE,
+                            categorieFilter.getValue(), villeFilter.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)).stream()
+                            .map(event -> new NearbyEvent(event, 0));
+                },
+                query -> nearbySearch != null
+                        ? nearbySearch.size()
+                        : eventService.countEvents(searchField.getValue(), StatutEvent.PUBLIE,
+                                categorieFilter.getValue(), villeFilter.getValue()));
+        grid.setItems(dataProvider);
+    }
 
-        grid.setItems(filtered);
+    private Stream<NearbyEvent> fetchTextMatches(String text, int offset, int limit) {
+        TextSearchPage page = eventService.findTextMatches(text, StatutEvent.PUBLIE, categorieFilter.getValue(),
+                villeFilter.getValue(), pageCursors.get(offset), offset, limit);
+        if (page.last() != null) {
+            // A short page is the last one, so the next offset is only ever asked for after a full page
+            pageCursors.put(offset + limit, page.last());
+        }
+        return page.events().stream().map(event -> new NearbyEvent(event, 0));
+    }
+
+    private Optional<VilleMaroc> proximityCentre() {
+        return rayonFilter.getValue() == null ? Optional.empty() : VilleMaroc.of(villeFilter.getValue());
+    }
+
+    private void applyFilters() {
+        if (dataProvider != null) {
+            // The radius scan and text match run once per filter state, pages are cut from the result
+            nearbySearch = proximityCentre()
+                    .map(centre -> eventService.searchEventsNear(centre, rayonFilter.getValue(),
+                            searchField.getValue(), StatutEvent.PUBLIE, categorieFilter.getValue()))
+                    .orElse(null);
+            distanceColumn.setVisible(nearbySearch != null);
+            pageCursors.clear();
+            dataProvider.refreshAll();
+        }
     }
 }
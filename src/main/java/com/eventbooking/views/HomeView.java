@@ -1,9 +1,9 @@
 package com.eventbooking.views;
 
-import com.eventbooking.domain.entity.Event;
 import com.eventbooking.domain.enums.Categorie;
-import com.eventbooking.domain.enums.StatutEvent;
-import com.eventbooking.service.EventService;
+import com.eventbooking.service.HomepageSnapshotService;
+import com.eventbooking.service.HomepageSnapshotService.HomepageEvent;
+import com.eventbooking.service.HomepageSnapshotService.HomepageSnapshot;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
@@ -14,6 +14,7 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouterLink;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Route(value = "", layout = MainLayout.class)
@@ -21,10 +22,13 @@ import java.util.List;
 @AnonymousAllowed
 public class HomeView extends VerticalLayout {
 
-    private final EventService eventService;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
-    public HomeView(EventService eventService) {
-        this.eventService = eventService;
+    // Rendered from the precomputed snapshot: no database access per visit
+    private final HomepageSnapshot snapshot;
+
+    public HomeView(HomepageSnapshotService homepageSnapshotService) {
+        this.snapshot = homepageSnapshotService.getSnapshot();
 
         setSizeFull();
         setPadding(false);
@@ -32,6 +36,8 @@ public class HomeView extends VerticalLayout {
 
         createHeroSection();
         createFeaturedEvents();
+        createCategoryFilters();
+        createUpcomingEvents();
     }
 
     private void createHeroSection() {
@@ -63,31 +69,38 @@ public class HomeView extends VerticalLayout {
     }
 
     private void createFeaturedEvents() {
+        createEventSection("Événements à la une", snapshot.featured(), false);
+    }
+
+    private void createUpcomingEvents() {
+        createEventSection("Bientôt", snapshot.upcoming(), true);
+    }
+
+    private void createEventSection(String title, List<HomepageEvent> events, boolean showDate) {
+        if (events.isEmpty()) {
+            return;
+        }
+
         VerticalLayout section = new VerticalLayout();
         section.setWidthFull();
         section.setPadding(true);
 
-        H2 sectionTitle = new H2("Événements à la une");
+        H2 sectionTitle = new H2(title);
         sectionTitle.getStyle().set("color", "#333");
 
         HorizontalLayout eventsLayout = new HorizontalLayout();
         eventsLayout.setWidthFull();
         eventsLayout.getStyle().set("flex-wrap", "wrap");
 
-        // Get popular events
-        List<Event> featuredEvents = eventService.getPopularEvents(6);
-
-        for (Event event : featuredEvents) {
-            if (event.getStatut() == StatutEvent.PUBLIE) {
-                eventsLayout.add(createEventCard(event));
-            }
+        for (HomepageEvent event : events) {
+            eventsLayout.add(createEventCard(event, showDate));
         }
 
         section.add(sectionTitle, eventsLayout);
         add(section);
     }
 
-    private VerticalLayout createEventCard(Event event) {
+    private VerticalLayout createEventCard(HomepageEvent event, boolean showDate) {
         VerticalLayout card = new VerticalLayout();
         card.setWidth("300px");
         card.setPadding(true);
@@ -99,62 +112,70 @@ public class HomeView extends VerticalLayout {
                 .set("margin", "10px")
                 .set("cursor", "pointer");
 
-        Span category = new Span(event.getCategorie().getIcon() + " " + event.getCategorie().getLabel());
+        Span category = new Span(event.categorie().getIcon() + " " + event.categorie().getLabel());
         category.getStyle()
-                .set("background", event.getCategorie().getColor())
+                .set("background", event.categorie().getColor())
                 .set("color", "white")
                 .set("padding", "5px 10px")
                 .set("border-radius", "4px")
                 .set("font-size", "0.9em");
 
-        H3 title = new H3(event.getTitre());
+        H3 title = new H3(event.titre());
         title.getStyle().set("margin", "10px 0");
 
-        Paragraph location = new Paragraph("📍 " + event.getVille());
+        Paragraph location = new Paragraph("📍 " + event.ville());
         location.getStyle().set("margin", "5px 0").set("color", "#666");
 
-        Paragraph price = new Paragraph(event.getPrixUnitaire() + " DH");
+        Paragraph price = new Paragraph(event.prixUnitaire() + " DH");
         price.getStyle()
                 .set("font-size", "1.3em")
                 .set("font-weight", "bold")
                 .set("color", "#2196F3")
                 .set("margin", "10px 0");
 
-        card.add(category, title, location, price);
+        card.add(category, title, location);
+        if (showDate) {
+            Paragraph date = new Paragraph("📅 " + event.dateDebut().format(DATE_FORMATTER));
+            date.getStyle().set("margin", "5px 0").set("color", "#666");
+            card.add(date);
+        }
+        card.add(price);
 
-        card.addClickListener(e -> getUI().ifPresent(ui -> ui.navigate("event/" + event.getId())));
+        card.addClickListener(e -> getUI().ifPresent(ui -> ui.navigate("event/" + event.id())));
 
         return card;
     }
 
-    // private void createCategoryFilters() {
-    // VerticalLayout section = new VerticalLayout();
-    // section.setWidthFull();
-    // section.setPadding(true);
+    private void createCategoryFilters() {
+        VerticalLayout section = new VerticalLayout();
+        section.setWidthFull();
+        section.setPadding(true);
 
-    // H2 sectionTitle = new H2("Parcourir par catégorie");
-    // sectionTitle.getStyle().set("color", "#333");
+        H2 sectionTitle = new H2("Parcourir par catégorie");
+        sectionTitle.getStyle().set("color", "#333");
 
-    // HorizontalLayout categoriesLayout = new HorizontalLayout();
-    // categoriesLayout.setWidthFull();
-    // categoriesLayout.getStyle().set("flex-wrap", "wrap");
+        HorizontalLayout categoriesLayout = new HorizontalLayout();
+        categoriesLayout.setWidthFull();
+        categoriesLayout.getStyle().set("flex-wrap", "wrap");
 
-    // for (Categorie categorie : Categorie.values()) {
-    // Button categoryButton = new Button(categorie.getIcon() + " " +
-    // categorie.getLabel());
-    // categoryButton.addThemeVariants(ButtonVariant.LUMO_LARGE);
-    // categoryButton.getStyle()
-    // .set("background", categorie.getColor())
-    // .set("color", "white")
-    // .set("margin", "10px");
+        for (Categorie categorie : Categorie.values()) {
+            long count = snapshot.count(categorie);
+            if (count == 0) {
+                continue;
+            }
+            Button categoryButton = new Button(categorie.getIcon() + " " + categorie.getLabel() + " (" + count + ")");
+            categoryButton.addThemeVariants(ButtonVariant.LUMO_LARGE);
+            categoryButton.getStyle()
+                    .set("background", categorie.getColor())
+                    .set("color", "white")
+                    .set("margin", "10px");
 
-    // categoryButton.addClickListener(e -> getUI().ifPresent(ui ->
-    // ui.navigate(EventListView.class)));
+            categoryButton.addClickListener(e -> getUI().ifPresent(ui -> ui.navigate(EventListView.class)));
 
-    // categoriesLayout.add(categoryButton);
-    // }
+            categoriesLayout.add(categoryButton);
+        }
 
-    // section.add(sectionTitle, categoriesLayout);
-    // add(section);
-    // }
+        section.add(sectionTitle, categoriesLayout);
+        add(section);
+    }
 }
@@ -152,6 +152,7 @@ public class MainLayout extends AppLayout {
         // Public links
         navigation.add(createNavLink("Accueil", HomeView.class, VaadinIcon.HOME));
         navigation.add(createNavLink("Événements", EventListView.class, VaadinIcon.CALENDAR));
+        navigation.add(createNavLink("Agenda", CalendarView.class, VaadinIcon.CALENDAR_CLOCK));
 
         // Role-based navigation
         if (currentUser.getRole() == Role.CLIENT) {
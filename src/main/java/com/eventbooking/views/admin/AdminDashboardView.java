@@ -6,6 +6,7 @@ import com.eventbooking.domain.entity.User;
 import com.eventbooking.domain.enums.Role;
 import com.eventbooking.domain.enums.StatutEvent;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.FlashSaleService;
 import com.eventbooking.service.ReservationService;
 import com.eventbooking.service.UserService;
 import com.eventbooking.views.MainLayout;
@@ -32,12 +33,14 @@ public class AdminDashboardView extends VerticalLayout {
     private final UserService userService;
     private final EventService eventService;
     private final ReservationService reservationService;
+    private final FlashSaleService flashSaleService;
 
     public AdminDashboardView(UserService userService, EventService eventService,
-            ReservationService reservationService) {
+            ReservationService reservationService, FlashSaleService flashSaleService) {
         this.userService = userService;
         this.eventService = eventService;
         this.reservationService = reservationService;
+        this.flashSaleService = flashSaleService;
 
         setSizeFull();
         setPadding(true);
@@ -200,7 +203,13 @@ public class AdminDashboardView extends VerticalLayout {
                 VaadinIcon.MONEY,
                 "#00BCD4");
 
-        statsLayout.add(totalReservationsCard, totalPlacesCard, totalRevenueCard);
+        StatCard writeBehindCard = new StatCard(
+                "File d'écriture Vente Flash",
+                String.valueOf(flashSaleService.getQueueDepth()),
+                VaadinIcon.FLASH,
+                "#FF5722");
+
+        statsLayout.add(totalReservationsCard, totalPlacesCard, totalRevenueCard, writeBehindCard);
 
         add(sectionTitle, statsLayout);
     }
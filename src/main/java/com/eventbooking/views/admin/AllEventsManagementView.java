@@ -4,12 +4,15 @@ import com.eventbooking.domain.entity.Event;
 import com.eventbooking.domain.enums.StatutEvent;
 import com.eventbooking.security.SecurityService;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.EventService.VenueConflict;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.WaitingRoomService;
 import com.eventbooking.views.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
+import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Span;
@@ -36,21 +39,24 @@ import java.util.List;
 @RolesAllowed("ADMIN")
 public class AllEventsManagementView extends VerticalLayout {
 
+    private static final int SEARCH_LIMIT = 500;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     private final SecurityService securityService;
     private final EventService eventService;
     private final ReservationService reservationService;
+    private final WaitingRoomService waitingRoomService;
     private final Grid<Event> grid = new Grid<>(Event.class, false);
 
     private ComboBox<StatutEvent> statusFilter;
     private TextField searchField;
 
     public AllEventsManagementView(SecurityService securityService, EventService eventService,
-            ReservationService reservationService) {
+            ReservationService reservationService, WaitingRoomService waitingRoomService) {
         this.securityService = securityService;
         this.eventService = eventService;
         this.reservationService = reservationService;
+        this.waitingRoomService = waitingRoomService;
 
         setSizeFull();
         setPadding(true);
@@ -76,12 +82,16 @@ public class AllEventsManagementView extends VerticalLayout {
         statusFilter.addValueChangeListener(e -> loadEvents());
 
         searchField = new TextField("Rechercher");
-        searchField.setPlaceholder("Titre ou ville");
+        searchField.setPlaceholder("Titre, lieu, ville...");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
         searchField.addValueChangeListener(e -> filterEvents(e.getValue()));
 
-        HorizontalLayout filters = new HorizontalLayout(statusFilter, searchField);
+        Button conflictsButton = new Button("Conflits de lieu", VaadinIcon.WARNING.create(),
+                e -> showVenueConflicts());
+        conflictsButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+
+        HorizontalLayout filters = new HorizontalLayout(statusFilter, searchField, conflictsButton);
         filters.setAlignItems(Alignment.END);
         add(filters);
     }
@@ -126,7 +136,7 @@ public class AllEventsManagementView extends VerticalLayout {
         })).setHeader("Statut").setAutoWidth(true);
 
         grid.addColumn(new ComponentRenderer<>(event -> {
-            int reserved = reservationService.calculateTotalReservedPlaces(event.getId());
+            int reserved = event.getPlacesReservees();
             int total = event.getCapaciteMax();
 
             VerticalLayout layout = new VerticalLayout();
@@ -185,7 +195,92 @@ public class AllEventsManagementView extends VerticalLayout {
         deleteButton.getElement().setAttribute("title", "Supprimer");
         deleteButton.addClickListener(e -> confirmDeletion(event));
 
-        return new HorizontalLayout(viewButton, editButton, publishButton, cancelButton, deleteButton);
+        boolean flashSale = Boolean.TRUE.equals(event.getModeVenteFlash());
+        Button flashSaleButton = new Button(VaadinIcon.FLASH.create());
+        flashSaleButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
+        if (flashSale) {
+            flashSaleButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        }
+        flashSaleButton.getElement().setAttribute("title",
+                flashSale ? "Terminer la vente flash" : "Démarrer une vente flash");
+        flashSaleButton.setEnabled(event.getStatut() == StatutEvent.PUBLIE || flashSale);
+        flashSaleButton.addClickListener(e -> toggleFlashSale(event, !flashSale));
+
+        boolean waitingRoom = waitingRoomService.isOpen(event.getId());
+        Button waitingRoomButton = new Button(VaadinIcon.HOURGLASS.create());
+        waitingRoomButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
+        if (waitingRoom) {
+            waitingRoomButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        }
+        waitingRoomButton.getElement().setAttribute("title",
+                waitingRoom ? "Fermer la file d'attente (" + waitingRoomService.getWaitingCount(event.getId())
+                        + " en attente)" : "Ouvrir une file d'attente");
+        waitingRoomButton.setEnabled(event.getStatut() == StatutEvent.PUBLIE || waitingRoom);
+        waitingRoomButton.addClickListener(e -> toggleWaitingRoom(event, !waitingRoom));
+
+        return new HorizontalLayout(viewButton, editButton, publishButton, cancelButton, deleteButton,
+                flashSaleButton, waitingRoomButton);
+    }
+
+    private void toggleWaitingRoom(Event event, boolean open) {
+        try {
+            if (open) {
+                waitingRoomService.open(event.getId());
+            } else {
+                waitingRoomService.close(event.getId());
+            }
+            Notification.show(open ? "File d'attente ouverte" : "File d'attente fermée", 3000,
+                    Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+            loadEvents();
+        } catch (Exception e) {
+            Notification.show("Erreur: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+        }
+    }
+
+    private void toggleFlashSale(Event event, boolean enabled) {
+        try {
+            eventService.setFlashSaleMode(event.getId(), enabled);
+            Notification.show(enabled ? "Vente flash démarrée" : "Vente flash terminée", 3000,
+                    Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+            loadEvents();
+        } catch (Exception e) {
+            Notification.show("Erreur: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+        }
+    }
+
+    private void showVenueConflicts() {
+        List<VenueConflict> conflicts = eventService.findAllVenueConflicts();
+        if (conflicts.isEmpty()) {
+            Notification.show("Aucun conflit de lieu entre les événements publiés", 3000,
+                    Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+            return;
+        }
+
+        Grid<VenueConflict> conflictGrid = new Grid<>(VenueConflict.class, false);
+        conflictGrid.addColumn(c -> c.event().getLieu() + ", " + c.event().getVille())
+                .setHeader("Lieu")
+                .setAutoWidth(true);
+        conflictGrid.addColumn(c -> c.event().getTitre() + " ("
+                + c.event().getDateDebut().format(DATE_FORMATTER) + ")")
+                .setHeader("Événement")
+                .setAutoWidth(true);
+        conflictGrid.addColumn(c -> c.otherEvent().getTitre() + " ("
+                + c.otherEvent().getDateDebut().format(DATE_FORMATTER) + ")")
+                .setHeader("En conflit avec")
+                .setAutoWidth(true);
+        conflictGrid.setItems(conflicts);
+
+        Dialog dialog = new Dialog();
+        dialog.setHeaderTitle(conflicts.size() + " conflit(s) de lieu");
+        dialog.setWidth("900px");
+        dialog.add(conflictGrid);
+        dialog.getFooter().add(new Button("Fermer", e -> dialog.close()));
+        dialog.open();
     }
 
     private void publishEvent(Event event) {
@@ -270,15 +365,7 @@ public class AllEventsManagementView extends VerticalLayout {
             return;
         }
 
-        List<Event> events = eventService.getAllEvents();
-        String lowerSearch = searchTerm.toLowerCase();
-
-        events = events.stream()
-                .filter(e -> e.getTitre().toLowerCase().contains(lowerSearch) ||
-                        e.getVille().toLowerCase().contains(lowerSearch))
-                .toList();
-
-        grid.setItems(events);
+        grid.setItems(eventService.fullTextSearch(searchTerm, statusFilter.getValue(), SEARCH_LIMIT));
     }
 
     private String getStatusColor(StatutEvent status) {
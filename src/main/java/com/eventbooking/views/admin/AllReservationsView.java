@@ -3,10 +3,12 @@ package com.eventbooking.views.admin;
 import com.eventbooking.domain.entity.Reservation;
 import com.eventbooking.domain.enums.StatutReservation;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.ReservationService.ReservationTotals;
 import com.eventbooking.views.MainLayout;
 import com.eventbooking.views.components.StatCard;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridSortOrder;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Span;
@@ -14,13 +16,22 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import jakarta.annotation.security.RolesAllowed;
+import org.springframework.data.domain.Sort;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * View for managing all reservations (admin)
@@ -31,12 +42,23 @@ import java.util.List;
 public class AllReservationsView extends VerticalLayout {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final int MAX_PAGE_KEYS = 200;
 
     private final ReservationService reservationService;
     private final Grid<Reservation> grid = new Grid<>(Reservation.class, false);
 
     private ComboBox<StatutReservation> statusFilter;
     private TextField searchField;
+    private Grid.Column<Reservation> dateColumn;
+
+    // Key of the last row before each fetched offset, the keyset position of the next page (most recent kept)
+    private final Map<Integer, PageKey> pageKeys = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, PageKey> eldest) {
+            return size() > MAX_PAGE_KEYS;
+        }
+    };
+    private Sort.Direction pageKeysDirection = Sort.Direction.DESC;
 
     public AllReservationsView(ReservationService reservationService) {
         this.reservationService = reservationService;
@@ -61,28 +83,14 @@ public class AllReservationsView extends VerticalLayout {
     private void createStatistics() {
         H3 statsTitle = new H3("Statistiques Globales");
 
-        List<Reservation> allReservations = reservationService.getAllReservations();
-
-        long totalReservations = allReservations.size();
-        long confirmedReservations = allReservations.stream()
-                .filter(r -> r.getStatut() == StatutReservation.CONFIRMEE)
-                .count();
-        long pendingReservations = allReservations.stream()
-                .filter(r -> r.getStatut() == StatutReservation.EN_ATTENTE)
-                .count();
-        long cancelledReservations = allReservations.stream()
-                .filter(r -> r.getStatut() == StatutReservation.ANNULEE)
-                .count();
-
-        int totalPlaces = allReservations.stream()
-                .filter(r -> r.getStatut() != StatutReservation.ANNULEE)
-                .mapToInt(Reservation::getNombrePlaces)
-                .sum();
-
-        double totalRevenue = allReservations.stream()
-                .filter(r -> r.getStatut() != StatutReservation.ANNULEE)
-                .mapToDouble(Reservation::getMontantTotal)
-                .sum();
+        ReservationTotals totals = reservationService.getReservationTotals();
+
+        long totalReservations = totals.totalReservations();
+        long confirmedReservations = totals.confirmedReservations();
+        long pendingReservations = totals.pendingReservations();
+        long cancelledReservations = totals.cancelledReservations();
+        long totalPlaces = totals.totalPlaces();
+        double totalRevenue = totals.totalRevenue();
 
         HorizontalLayout statsLayout = new HorizontalLayout();
         statsLayout.setSpacing(true);
@@ -142,13 +150,14 @@ public class AllReservationsView extends VerticalLayout {
         statusFilter.setItems(StatutReservation.values());
         statusFilter.setItemLabelGenerator(StatutReservation::getLabel);
         statusFilter.setClearButtonVisible(true);
-        statusFilter.addValueChangeListener(e -> loadReservations());
+        statusFilter.addValueChangeListener(e -> refreshReservations());
 
         searchField = new TextField("Rechercher");
         searchField.setPlaceholder("Code, utilisateur ou événement");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
-        searchField.addValueChangeListener(e -> filterReservations(e.getValue()));
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(e -> refreshReservations());
 
         HorizontalLayout filters = new HorizontalLayout(statusFilter, searchField);
         filters.setAlignItems(Alignment.END);
@@ -158,44 +167,37 @@ public class AllReservationsView extends VerticalLayout {
     private void configureGrid() {
         grid.addColumn(Reservation::getCodeReservation)
                 .setHeader("Code")
-                .setSortable(true)
                 .setAutoWidth(true);
 
         grid.addColumn(reservation -> reservation.getUtilisateur().getPrenom() + " " +
                 reservation.getUtilisateur().getNom())
                 .setHeader("Client")
-                .setSortable(true)
                 .setAutoWidth(true);
 
         grid.addColumn(reservation -> reservation.getUtilisateur().getEmail())
                 .setHeader("Email")
-                .setSortable(true)
                 .setAutoWidth(true);
 
         grid.addColumn(reservation -> reservation.getEvenement().getTitre())
                 .setHeader("Événement")
-                .setSortable(true)
                 .setAutoWidth(true);
 
         grid.addColumn(reservation -> reservation.getEvenement().getOrganisateur().getPrenom() + " " +
                 reservation.getEvenement().getOrganisateur().getNom())
                 .setHeader("Organisateur")
-                .setSortable(true)
                 .setAutoWidth(true);
 
-        grid.addColumn(reservation -> reservation.getDateReservation().format(DATE_FORMATTER))
+        dateColumn = grid.addColumn(reservation -> reservation.getDateReservation().format(DATE_FORMATTER))
                 .setHeader("Date Réservation")
-                .setSortable(true)
+                .setSortProperty("dateReservation")
                 .setAutoWidth(true);
 
         grid.addColumn(Reservation::getNombrePlaces)
                 .setHeader("Places")
-                .setSortable(true)
                 .setAutoWidth(true);
 
         grid.addColumn(reservation -> String.format("%.2f DH", reservation.getMontantTotal()))
                 .setHeader("Montant")
-                .setSortable(true)
                 .setAutoWidth(true);
 
         grid.addColumn(new ComponentRenderer<>(reservation -> {
@@ -214,35 +216,51 @@ public class AllReservationsView extends VerticalLayout {
     }
 
     private void loadReservations() {
-        List<Reservation> reservations = reservationService.getAllReservations();
-
-        if (statusFilter.getValue() != null) {
-            reservations = reservations.stream()
-                    .filter(r -> r.getStatut() == statusFilter.getValue())
-                    .toList();
-        }
+        grid.setItems(new CallbackDataProvider<>(this::fetchReservations,
+                query -> reservationService.countReservations(statusFilter.getValue(), searchField.getValue())));
+        grid.sort(GridSortOrder.desc(dateColumn).build());
+    }
 
-        grid.setItems(reservations);
+    private void refreshReservations() {
+        pageKeys.clear();
+        grid.getDataProvider().refreshAll();
     }
 
-    private void filterReservations(String searchTerm) {
-        if (searchTerm == null || searchTerm.isEmpty()) {
-            loadReservations();
-            return;
+    /**
+     * Sequential pages seek from the last row of the previous page; a jump to a page
+     * whose key is not known yet falls back to an offset query once
+     */
+    private Stream<Reservation> fetchReservations(Query<Reservation, Void> query) {
+        Sort.Direction direction = query.getSortOrders().stream()
+                .filter(order -> order.getDirection() == SortDirection.ASCENDING)
+                .findFirst()
+                .map(order -> Sort.Direction.ASC)
+                .orElse(Sort.Direction.DESC);
+        if (direction != pageKeysDirection) {
+            pageKeys.clear();
+            pageKeysDirection = direction;
         }
 
-        List<Reservation> reservations = reservationService.getAllReservations();
-        String lowerSearch = searchTerm.toLowerCase();
-
-        reservations = reservations.stream()
-                .filter(r -> r.getCodeReservation().toLowerCase().contains(lowerSearch) ||
-                        r.getUtilisateur().getNom().toLowerCase().contains(lowerSearch) ||
-                        r.getUtilisateur().getPrenom().toLowerCase().contains(lowerSearch) ||
-                        r.getUtilisateur().getEmail().toLowerCase().contains(lowerSearch) ||
-                        r.getEvenement().getTitre().toLowerCase().contains(lowerSearch))
-                .toList();
+        int offset = query.getOffset();
+        int limit = query.getLimit();
+        List<Reservation> page;
+        if (offset == 0) {
+            page = reservationService.findReservationsAfter(statusFilter.getValue(), searchField.getValue(),
+                    direction, null, null, limit);
+        } else if (pageKeys.containsKey(offset)) {
+            PageKey last = pageKeys.get(offset);
+            page = reservationService.findReservationsAfter(statusFilter.getValue(), searchField.getValue(),
+                    direction, last.dateReservation(), last.id(), limit);
+        } else {
+            page = reservationService.findReservationsAt(statusFilter.getValue(), searchField.getValue(),
+                    direction, offset, limit);
+        }
 
-        grid.setItems(reservations);
+        if (!page.isEmpty()) {
+            Reservation last = page.get(page.size() - 1);
+            pageKeys.put(offset + page.size(), new PageKey(last.getDateReservation(), last.getId()));
+        }
+        return page.stream();
     }
 
     private String getStatusColor(StatutReservation status) {
@@ -252,4 +270,7 @@ public class AllReservationsView extends VerticalLayout {
             case ANNULEE -> "#F44336";
         };
     }
+
+    private record PageKey(LocalDateTime dateReservation, Long id) {
+    }
 }
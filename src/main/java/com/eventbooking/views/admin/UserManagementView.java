@@ -18,13 +18,15 @@ import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import jakarta.annotation.security.RolesAllowed;
 
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * User management view for admins
@@ -67,19 +69,20 @@ public class UserManagementView extends VerticalLayout {
         roleFilter.setItems(Role.values());
         roleFilter.setItemLabelGenerator(Role::getLabel);
         roleFilter.setClearButtonVisible(true);
-        roleFilter.addValueChangeListener(e -> loadUsers());
+        roleFilter.addValueChangeListener(e -> refreshUsers());
 
         statusFilter = new ComboBox<>("Filtrer par statut");
         statusFilter.setItems(true, false);
         statusFilter.setItemLabelGenerator(active -> active ? "Actif" : "Inactif");
         statusFilter.setClearButtonVisible(true);
-        statusFilter.addValueChangeListener(e -> loadUsers());
+        statusFilter.addValueChangeListener(e -> refreshUsers());
 
         searchField = new TextField("Rechercher");
         searchField.setPlaceholder("Nom ou email");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
-        searchField.addValueChangeListener(e -> filterUsers(e.getValue()));
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(e -> refreshUsers());
 
         HorizontalLayout filters = new HorizontalLayout(roleFilter, statusFilter, searchField);
         filters.setAlignItems(Alignment.END);
@@ -89,12 +92,12 @@ public class UserManagementView extends VerticalLayout {
     private void configureGrid() {
         grid.addColumn(user -> user.getPrenom() + " " + user.getNom())
                 .setHeader("Nom")
-                .setSortable(true)
+                .setSortProperty("nomRecherche", "prenomRecherche")
                 .setAutoWidth(true);
 
         grid.addColumn(User::getEmail)
                 .setHeader("Email")
-                .setSortable(true)
+                .setSortProperty("email")
                 .setAutoWidth(true);
 
         grid.addColumn(new ComponentRenderer<>(user -> {
@@ -111,7 +114,7 @@ public class UserManagementView extends VerticalLayout {
 
         grid.addColumn(user -> user.getDateInscription().format(DATE_FORMATTER))
                 .setHeader("Date Inscription")
-                .setSortable(true)
+                .setSortProperty("dateInscription")
                 .setAutoWidth(true);
 
         grid.addColumn(new ComponentRenderer<>(user -> {
@@ -170,7 +173,7 @@ public class UserManagementView extends VerticalLayout {
                 }
                 Notification.show("Statut modifié avec succès", 3000, Notification.Position.TOP_CENTER)
                         .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
-                loadUsers();
+                refreshUsers();
             } catch (Exception ex) {
                 Notification.show("Erreur: " + ex.getMessage(), 3000, Notification.Position.TOP_CENTER)
                         .addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -203,7 +206,7 @@ public class UserManagementView extends VerticalLayout {
                 Notification.show("Rôle modifié avec succès", 3000, Notification.Position.TOP_CENTER)
                         .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
                 dialog.close();
-                loadUsers();
+                refreshUsers();
             } catch (Exception ex) {
                 Notification.show("Erreur: " + ex.getMessage(), 3000, Notification.Position.TOP_CENTER)
                         .addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -218,40 +221,16 @@ public class UserManagementView extends VerticalLayout {
     }
 
     private void loadUsers() {
-        List<User> users = userService.getAllUsers();
-
-        // Apply filters
-        if (roleFilter.getValue() != null) {
-            users = users.stream()
-                    .filter(u -> u.getRole() == roleFilter.getValue())
-                    .toList();
-        }
-
-        if (statusFilter.getValue() != null) {
-            users = users.stream()
-                    .filter(u -> u.getActif() == statusFilter.getValue())
-                    .toList();
-        }
-
-        grid.setItems(users);
+        // Filters, sorting and paging run in the database; only the visible window is fetched
+        grid.setItems(new CallbackDataProvider<>(
+                query -> userService.findUsers(roleFilter.getValue(), statusFilter.getValue(), searchField.getValue(),
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> userService.countUsers(roleFilter.getValue(), statusFilter.getValue(),
+                        searchField.getValue())));
     }
 
-    private void filterUsers(String searchTerm) {
-        if (searchTerm == null || searchTerm.isEmpty()) {
-            loadUsers();
-            return;
-        }
-
-        List<User> users = userService.getAllUsers();
-        String lowerSearch = searchTerm.toLowerCase();
-
-        users = users.stream()
-                .filter(u -> u.getNom().toLowerCase().contains(lowerSearch) ||
-                        u.getPrenom().toLowerCase().contains(lowerSearch) ||
-                        u.getEmail().toLowerCase().contains(lowerSearch))
-                .toList();
-
-        grid.setItems(users);
+    private void refreshUsers() {
+        grid.getDataProvider().refreshAll();
     }
 
     private String getRoleColor(Role role) {
@@ -2,9 +2,12 @@ package com.eventbooking.views.client;
 
 import com.eventbooking.domain.entity.Reservation;
 import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.entity.WaitlistEntry;
+import com.eventbooking.domain.enums.StatutListeAttente;
 import com.eventbooking.domain.enums.StatutReservation;
 import com.eventbooking.security.SecurityService;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.WaitlistService;
 import com.eventbooking.views.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -12,6 +15,7 @@ import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.notification.Notification;
@@ -40,15 +44,19 @@ public class MyReservationsView extends VerticalLayout {
 
     private final SecurityService securityService;
     private final ReservationService reservationService;
+    private final WaitlistService waitlistService;
     private final Grid<Reservation> grid = new Grid<>(Reservation.class, false);
+    private final Grid<WaitlistEntry> waitlistGrid = new Grid<>(WaitlistEntry.class, false);
 
     private ComboBox<StatutReservation> statusFilter;
     private TextField searchField;
     private User currentUser;
 
-    public MyReservationsView(SecurityService securityService, ReservationService reservationService) {
+    public MyReservationsView(SecurityService securityService, ReservationService reservationService,
+            WaitlistService waitlistService) {
         this.securityService = securityService;
         this.reservationService = reservationService;
+        this.waitlistService = waitlistService;
 
         this.currentUser = securityService.getAuthenticatedUser()
                 .orElseThrow(() -> new RuntimeException("User not authenticated"));
@@ -60,7 +68,9 @@ public class MyReservationsView extends VerticalLayout {
         createHeader();
         createFilters();
         configureGrid();
+        configureWaitlistGrid();
         loadReservations(null);
+        loadWaitlist();
     }
 
     private void createHeader() {
@@ -132,6 +142,51 @@ public class MyReservationsView extends VerticalLayout {
         add(grid);
     }
 
+    private void configureWaitlistGrid() {
+        waitlistGrid.addColumn(entry -> entry.getEvenement().getTitre())
+                .setHeader("Événement")
+                .setAutoWidth(true);
+
+        waitlistGrid.addColumn(WaitlistEntry::getNombrePlaces)
+                .setHeader("Places")
+                .setAutoWidth(true);
+
+        waitlistGrid.addColumn(entry -> entry.getStatut() == StatutListeAttente.EN_ATTENTE
+                ? String.valueOf(waitlistService.getPosition(entry))
+                : "-")
+                .setHeader("Position")
+                .setAutoWidth(true);
+
+        waitlistGrid.addColumn(entry -> entry.getStatut() == StatutListeAttente.PROMUE
+                ? entry.getCodeReservation()
+                : entry.getStatut().getLabel())
+                .setHeader("Statut")
+                .setAutoWidth(true);
+
+        waitlistGrid.addColumn(new ComponentRenderer<>(entry -> {
+            Button leaveButton = new Button("Quitter", VaadinIcon.CLOSE.create());
+            leaveButton.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_SMALL);
+            leaveButton.setEnabled(entry.getStatut() == StatutListeAttente.EN_ATTENTE);
+            leaveButton.addClickListener(e -> {
+                try {
+                    waitlistService.leave(entry.getId(), currentUser);
+                    loadWaitlist();
+                } catch (Exception ex) {
+                    Notification.show("Erreur: " + ex.getMessage(), 3000, Notification.Position.TOP_CENTER)
+                            .addThemeVariants(NotificationVariant.LUMO_ERROR);
+                }
+            });
+            return leaveButton;
+        })).setHeader("Actions").setAutoWidth(true);
+
+        waitlistGrid.setAllRowsVisible(true);
+        add(new H3("Mes listes d'attente"), waitlistGrid);
+    }
+
+    private void loadWaitlist() {
+        waitlistGrid.setItems(waitlistService.getUserEntries(currentUser.getId()));
+    }
+
     private HorizontalLayout createActionButtons(Reservation reservation) {
         Button cancelButton = new Button("Annuler", VaadinIcon.CLOSE.create());
         cancelButton.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_SMALL);
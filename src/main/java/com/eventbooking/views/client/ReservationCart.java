@@ -0,0 +1,69 @@
+package com.eventbooking.views.client;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.service.ReservationService.ReservationRequest;
+import com.vaadin.flow.server.VaadinSession;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-event reservation cart kept in the Vaadin session
+ */
+public class ReservationCart implements Serializable {
+
+    private final Map<Long, CartItem> items = new LinkedHashMap<>();
+
+    /**
+     * Get the cart of the current session, creating it on first use
+     */
+    public static ReservationCart current() {
+        VaadinSession session = VaadinSession.getCurrent();
+        ReservationCart cart = session.getAttribute(ReservationCart.class);
+        if (cart == null) {
+            cart = new ReservationCart();
+            session.setAttribute(ReservationCart.class, cart);
+        }
+        return cart;
+    }
+
+    public void add(Event event, int places, String commentaire) {
+        items.put(event.getId(), new CartItem(event.getId(), event.getTitre(), event.getPrixUnitaire(),
+                places, commentaire));
+    }
+
+    public void remove(Long eventId) {
+        items.remove(eventId);
+    }
+
+    public void clear() {
+        items.clear();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public List<CartItem> getItems() {
+        return new ArrayList<>(items.values());
+    }
+
+    public double getTotal() {
+        return items.values().stream()
+                .mapToDouble(item -> item.prixUnitaire() * item.places())
+                .sum();
+    }
+
+    public List<ReservationRequest> toRequests() {
+        return items.values().stream()
+                .map(item -> new ReservationRequest(item.eventId(), item.places(), item.commentaire()))
+                .toList();
+    }
+
+    public record CartItem(Long eventId, String titre, double prixUnitaire, int places, String commentaire)
+            implements Serializable {
+    }
+}
@@ -3,10 +3,14 @@ package com.eventbooking.views.client;
 import com.eventbooking.domain.entity.Event;
 import com.eventbooking.domain.entity.Reservation;
 import com.eventbooking.domain.entity.User;
+import com.eventbooking.exception.BusinessException;
 import com.eventbooking.security.SecurityService;
 import com.eventbooking.service.EventService;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.SeatHoldService;
+import com.eventbooking.service.WaitlistService;
 import com.eventbooking.views.MainLayout;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.formlayout.FormLayout;
@@ -14,6 +18,7 @@ import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Paragraph;
 import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
@@ -24,9 +29,12 @@ import com.vaadin.flow.router.BeforeEvent;
 import com.vaadin.flow.router.HasUrlParameter;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.RolesAllowed;
 
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Reservation form view
@@ -41,21 +49,32 @@ public class ReservationFormView extends VerticalLayout implements HasUrlParamet
     private final SecurityService securityService;
     private final EventService eventService;
     private final ReservationService reservationService;
+    private final SeatHoldService seatHoldService;
+    private final WaitlistService waitlistService;
 
     private Event event;
     private User currentUser;
+    private String holdId;
+    // One key per filled form: a double-click or retry returns the first reservation,
+    // a new key once the form is changed or its reservation was made
+    private String idempotencyKey = UUID.randomUUID().toString();
 
     private IntegerField placesField;
     private TextArea commentField;
     private Span totalPriceLabel;
     private Span availabilityLabel;
     private Button submitButton;
+    private Button waitlistButton;
+    private VerticalLayout cartLayout;
 
     public ReservationFormView(SecurityService securityService, EventService eventService,
-            ReservationService reservationService) {
+            ReservationService reservationService, SeatHoldService seatHoldService,
+            WaitlistService waitlistService) {
         this.securityService = securityService;
         this.eventService = eventService;
         this.reservationService = reservationService;
+        this.seatHoldService = seatHoldService;
+        this.waitlistService = waitlistService;
 
         this.currentUser = securityService.getAuthenticatedUser()
                 .orElseThrow(() -> new RuntimeException("User not authenticated"));
@@ -68,7 +87,8 @@ public class ReservationFormView extends VerticalLayout implements HasUrlParamet
     }
 
     @Override
-    public void setParameter(BeforeEvent event, Long eventId) {
+    public void setParameter(BeforeEvent beforeEvent, Long eventId) {
+        // Visitors not yet admitted by a waiting room were already sent back by WaitingRoomGuard
         try {
             this.event = eventService.findById(eventId);
             buildView();
@@ -84,6 +104,7 @@ public class ReservationFormView extends VerticalLayout implements HasUrlParamet
 
         createEventInfo();
         createReservationForm();
+        createCart();
     }
 
     private void createEventInfo() {
@@ -128,7 +149,15 @@ public class ReservationFormView extends VerticalLayout implements HasUrlParamet
         placesField.setValue(1);
         placesField.setStepButtonsVisible(true);
         placesField.setHelperText("Maximum 10 places par réservation");
-        placesField.addValueChangeListener(e -> updateTotalPrice());
+        placesField.addValueChangeListener(e -> {
+            renewIdempotencyKey();
+            updateTotalPrice();
+            // A hold already taken follows the chosen quantity
+            if (holdId != null && e.isFromClient() && e.getValue() != null
+                    && e.getValue() >= 1 && e.getValue() <= 10) {
+                placeHold(e.getValue());
+            }
+        });
 
         totalPriceLabel = new Span();
         totalPriceLabel.getStyle()
@@ -141,17 +170,34 @@ public class ReservationFormView extends VerticalLayout implements HasUrlParamet
         commentField = new TextArea("Commentaire (optionnel)");
         commentField.setMaxLength(500);
         commentField.setHelperText("500 caractères maximum");
+        commentField.addValueChangeListener(e -> renewIdempotencyKey());
 
         formLayout.add(placesField, totalPriceLabel, commentField);
 
         submitButton = new Button("Confirmer la réservation");
         submitButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_LARGE);
+        submitButton.setDisableOnClick(true);
         submitButton.addClickListener(e -> submitReservation());
 
+        Button holdButton = new Button("Garder ces places", VaadinIcon.LOCK.create());
+        holdButton.addClickListener(e -> {
+            if (placesField.getValue() != null && placesField.getValue() >= 1 && placesField.getValue() <= 10) {
+                placeHold(placesField.getValue());
+            }
+        });
+
+        Button addToCartButton = new Button("Ajouter au panier");
+        addToCartButton.addClickListener(e -> addToCart());
+
         Button cancelButton = new Button("Annuler");
         cancelButton.addClickListener(e -> getUI().ifPresent(ui -> ui.navigate("events")));
 
-        HorizontalLayout buttons = new HorizontalLayout(submitButton, cancelButton);
+        waitlistButton = new Button("Rejoindre la liste d'attente", VaadinIcon.CLOCK.create());
+        waitlistButton.setVisible(eventService.calculateAvailableSeats(event.getId()) < 1);
+        waitlistButton.addClickListener(e -> joinWaitlist());
+
+        HorizontalLayout buttons = new HorizontalLayout(submitButton, holdButton, addToCartButton, waitlistButton,
+                cancelButton);
 
         VerticalLayout formContainer = new VerticalLayout(formTitle, formLayout, buttons);
         formContainer.setPadding(true);
@@ -180,27 +226,141 @@ public class ReservationFormView extends VerticalLayout implements HasUrlParamet
                 return;
             }
 
-            // Check availability
-            int available = eventService.calculateAvailableSeats(event.getId());
-            if (placesField.getValue() > available) {
-                Notification.show("Nombre de places insuffisant", 3000, Notification.Position.TOP_CENTER)
-                        .addThemeVariants(NotificationVariant.LUMO_ERROR);
-                return;
-            }
-
             // Create reservation
             Reservation reservation = Reservation.builder()
                     .utilisateur(currentUser)
                     .evenement(event)
                     .nombrePlaces(placesField.getValue())
                     .commentaire(commentField.getValue())
+                    .cleIdempotence(idempotencyKey)
                     .build();
 
-            Reservation saved = reservationService.createReservation(reservation);
+            Reservation saved = reservationService.createReservation(reservation, holdId);
+            holdId = null;
+            renewIdempotencyKey();
 
             // Show success with code
             showSuccessDialog(saved.getCodeReservation());
 
+        } catch (Exception e) {
+            Notification.show("Erreur: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+        } finally {
+            submitButton.setEnabled(true);
+        }
+    }
+
+    private void renewIdempotencyKey() {
+        idempotencyKey = UUID.randomUUID().toString();
+    }
+
+    /**
+     * Hold the chosen places for the buyer (released on submit, leave or TTL)
+     */
+    private void placeHold(int places) {
+        try {
+            holdId = seatHoldService.updateHold(holdId, currentUser.getId(),
+                    VaadinSession.getCurrent().getSession().getId(), event.getId(), places);
+            if (holdId != null) {
+                availabilityLabel.setText(String.format("%d place(s) réservée(s) pour vous pendant %d minutes",
+                        places, seatHoldService.getTtl().toMinutes()));
+            }
+        } catch (BusinessException e) {
+            waitlistButton.setVisible(true);
+            Notification.show(e.getMessage(), 3000, Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+        }
+    }
+
+    private void joinWaitlist() {
+        try {
+            int places = placesField.getValue() != null ? placesField.getValue() : 1;
+            waitlistService.join(currentUser, event.getId(), places);
+            Notification.show("Vous êtes sur la liste d'attente, vos places vous seront attribuées dès qu'elles se libèrent",
+                    5000, Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+            getUI().ifPresent(ui -> ui.navigate(MyReservationsView.class));
+        } catch (Exception e) {
+            Notification.show("Erreur: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+        }
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        super.onDetach(detachEvent);
+        seatHoldService.release(holdId);
+        holdId = null;
+    }
+
+    private void createCart() {
+        cartLayout = new VerticalLayout();
+        cartLayout.setPadding(true);
+        cartLayout.getStyle()
+                .set("background", "white")
+                .set("border-radius", "8px")
+                .set("box-shadow", "0 2px 8px rgba(0,0,0,0.1)")
+                .set("margin-top", "20px");
+
+        add(cartLayout);
+        refreshCart();
+    }
+
+    private void refreshCart() {
+        ReservationCart cart = ReservationCart.current();
+        cartLayout.removeAll();
+        cartLayout.setVisible(!cart.isEmpty());
+        if (cart.isEmpty()) {
+            return;
+        }
+
+        cartLayout.add(new H3("Panier multi-événements"));
+        for (ReservationCart.CartItem item : cart.getItems()) {
+            Span label = new Span(String.format("%s — %d place(s) — %.2f DH",
+                    item.titre(), item.places(), item.prixUnitaire() * item.places()));
+
+            Button removeButton = new Button("Retirer", e -> {
+                ReservationCart.current().remove(item.eventId());
+                refreshCart();
+            });
+            removeButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_ERROR);
+
+            HorizontalLayout line = new HorizontalLayout(label, removeButton);
+            line.setAlignItems(Alignment.CENTER);
+            cartLayout.add(line);
+        }
+
+        Span total = new Span(String.format("Total panier: %.2f DH", cart.getTotal()));
+        total.getStyle().set("font-weight", "bold").set("color", "#2196F3");
+
+        Button bookCartButton = new Button("Réserver le panier", e -> submitCart());
+        bookCartButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+
+        cartLayout.add(total, bookCartButton);
+    }
+
+    private void addToCart() {
+        if (placesField.getValue() == null || placesField.getValue() < 1 || placesField.getValue() > 10) {
+            Notification.show("Veuillez sélectionner entre 1 et 10 places", 3000, Notification.Position.TOP_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+            return;
+        }
+
+        ReservationCart.current().add(event, placesField.getValue(), commentField.getValue());
+        Notification.show("Ajouté au panier", 2000, Notification.Position.TOP_CENTER)
+                .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+        refreshCart();
+    }
+
+    private void submitCart() {
+        ReservationCart cart = ReservationCart.current();
+        try {
+            List<Reservation> saved = reservationService.createReservations(currentUser, cart.toRequests(), holdId);
+            holdId = null;
+            cart.clear();
+            refreshCart();
+
+            showSuccessDialog(saved.stream().map(Reservation::getCodeReservation).toList());
         } catch (Exception e) {
             Notification.show("Erreur: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER)
                     .addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -208,6 +368,10 @@ public class ReservationFormView extends VerticalLayout implements HasUrlParamet
     }
 
     private void showSuccessDialog(String code) {
+        showSuccessDialog(List.of(code));
+    }
+
+    private void showSuccessDialog(List<String> codes) {
         com.vaadin.flow.component.dialog.Dialog dialog = new com.vaadin.flow.component.dialog.Dialog();
         dialog.setHeaderTitle("Réservation confirmée !");
 
@@ -218,19 +382,21 @@ public class ReservationFormView extends VerticalLayout implements HasUrlParamet
 
         Paragraph message = new Paragraph("Votre réservation a été créée avec succès !");
 
-        Span codeLabel = new Span("Code de réservation:");
+        Span codeLabel = new Span(codes.size() > 1 ? "Codes de réservation:" : "Code de réservation:");
         codeLabel.getStyle().set("font-weight", "bold");
 
-        Span codeValue = new Span(code);
-        codeValue.getStyle()
-                .set("font-size", "1.5em")
-                .set("color", "#667eea")
-                .set("font-weight", "bold")
-                .set("padding", "10px 20px")
-                .set("background", "#f0f0f0")
-                .set("border-radius", "8px");
-
-        content.add(message, codeLabel, codeValue);
+        content.add(message, codeLabel);
+        for (String code : codes) {
+            Span codeValue = new Span(code);
+            codeValue.getStyle()
+                    .set("font-size", "1.5em")
+                    .set("color", "#667eea")
+                    .set("font-weight", "bold")
+                    .set("padding", "10px 20px")
+                    .set("background", "#f0f0f0")
+                    .set("border-radius", "8px");
+            content.add(codeValue);
+        }
         dialog.add(content);
 
         Button closeButton = new Button("Voir mes réservations", e -> {
@@ -0,0 +1,43 @@
+package com.eventbooking.views.client;
+
+import com.eventbooking.service.WaitingRoomService;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sends visitors not yet admitted by an event's waiting room back to it.
+ * Runs as a UI listener, before the reservation form and its layout are
+ * created, so a waiting visitor costs no database query.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitingRoomGuard implements VaadinServiceInitListener {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Override
+    public void serviceInit(ServiceInitEvent serviceInitEvent) {
+        serviceInitEvent.getSource().addUIInitListener(uiInit -> uiInit.getUI().addBeforeEnterListener(this::check));
+    }
+
+    private void check(BeforeEnterEvent event) {
+        if (event.getNavigationTarget() != ReservationFormView.class) {
+            return;
+        }
+        List<String> segments = event.getLocation().getSegments();
+        Long eventId;
+        try {
+            eventId = Long.valueOf(segments.get(segments.size() - 1));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (!waitingRoomService.isAdmitted(eventId, WaitingRoomView.getSessionTicket(eventId))) {
+            event.forwardTo(WaitingRoomView.class, eventId);
+        }
+    }
+}
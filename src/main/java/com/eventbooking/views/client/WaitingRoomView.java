@@ -0,0 +1,148 @@
+package com.eventbooking.views.client;
+
+import com.eventbooking.service.WaitingRoomService;
+import com.eventbooking.service.WaitingRoomService.Ticket;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.VaadinSession;
+import jakarta.annotation.security.RolesAllowed;
+
+/**
+ * Waiting room shown before the reservation form of a high-demand event.
+ * The position is pushed live; waiting never touches the database, which is
+ * also why this view has no main layout.
+ */
+@Route("waiting-room")
+@PageTitle("File d'attente | Event Booking")
+@RolesAllowed("CLIENT")
+public class WaitingRoomView extends VerticalLayout implements HasUrlParameter<Long> {
+
+    private static final String TICKET_ATTRIBUTE = "waiting-room-ticket-";
+
+    private final WaitingRoomService waitingRoomService;
+
+    private Long eventId;
+    private Ticket ticket;
+    private long initialPosition;
+    private Runnable unsubscribe;
+
+    private Span positionLabel;
+    private Span waitLabel;
+    private ProgressBar progressBar;
+
+    public WaitingRoomView(WaitingRoomService waitingRoomService) {
+        this.waitingRoomService = waitingRoomService;
+
+        setSizeFull();
+        setPadding(true);
+        setSpacing(true);
+        setAlignItems(Alignment.CENTER);
+        setJustifyContentMode(JustifyContentMode.CENTER);
+    }
+
+    /**
+     * Ticket drawn by the current session for an event (possibly in an earlier opening of its room), or null
+     */
+    public static Ticket getSessionTicket(Long eventId) {
+        return (Ticket) VaadinSession.getCurrent().getAttribute(TICKET_ATTRIBUTE + eventId);
+    }
+
+    @Override
+    public void setParameter(BeforeEvent beforeEvent, Long eventId) {
+        this.eventId = eventId;
+
+        // A ticket from an earlier opening of the room goes back to the end of the queue
+        Ticket existing = getSessionTicket(eventId);
+        if (waitingRoomService.isOpen(eventId) && !waitingRoomService.isCurrent(eventId, existing)) {
+            existing = waitingRoomService.join(eventId);
+            VaadinSession.getCurrent().setAttribute(TICKET_ATTRIBUTE + eventId, existing);
+        }
+
+        if (existing == null || waitingRoomService.isAdmitted(eventId, existing)) {
+            beforeEvent.forwardTo(ReservationFormView.class, eventId);
+            return;
+        }
+
+        this.ticket = existing;
+        this.initialPosition = Math.max(1, waitingRoomService.getPosition(eventId, ticket));
+        buildView();
+    }
+
+    private void buildView() {
+        removeAll();
+
+        H2 title = new H2("File d'attente: " + waitingRoomService.getEventTitle(eventId));
+        title.getStyle().set("color", "#667eea");
+
+        Paragraph explanation = new Paragraph("Cet événement connaît une très forte demande. "
+                + "Gardez cette page ouverte, vous accéderez automatiquement au formulaire de réservation.");
+        explanation.getStyle().set("text-align", "center").set("max-width", "600px");
+
+        positionLabel = new Span();
+        positionLabel.getStyle()
+                .set("font-size", "2em")
+                .set("font-weight", "bold")
+                .set("color", "#2196F3");
+
+        waitLabel = new Span();
+        waitLabel.getStyle().set("color", "#666");
+
+        progressBar = new ProgressBar(0, 1);
+        progressBar.setWidth("400px");
+
+        add(title, explanation, positionLabel, progressBar, waitLabel);
+        refresh();
+    }
+
+    private void refresh() {
+        if (waitingRoomService.isAdmitted(eventId, ticket)) {
+            if (unsubscribe != null) {
+                unsubscribe.run();
+                unsubscribe = null;
+            }
+            getUI().ifPresent(ui -> ui.navigate(ReservationFormView.class, eventId));
+            return;
+        }
+
+        long position = waitingRoomService.getPosition(eventId, ticket);
+        positionLabel.setText("Votre position: " + position);
+        waitLabel.setText("Attente estimée: " + formatWait(waitingRoomService.getEstimatedWaitSeconds(eventId, ticket)));
+        progressBar.setValue(Math.max(0, Math.min(1, 1 - (double) position / initialPosition)));
+    }
+
+    private String formatWait(long seconds) {
+        if (seconds < 60) {
+            return "moins d'une minute";
+        }
+        return (seconds + 59) / 60 + " minute(s)";
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        if (eventId == null) {
+            return;
+        }
+        UI ui = attachEvent.getUI();
+        unsubscribe = waitingRoomService.subscribe(eventId, () -> ui.access(this::refresh));
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        super.onDetach(detachEvent);
+        if (unsubscribe != null) {
+            unsubscribe.run();
+            unsubscribe = null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.eventbooking.domain.enums.Categorie;
 import com.eventbooking.domain.enums.StatutEvent;
 import com.eventbooking.security.SecurityService;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.PlaceAutocomplete;
 import com.eventbooking.views.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -46,6 +47,7 @@ public class EventFormView extends VerticalLayout implements HasUrlParameter<Lon
 
     private final SecurityService securityService;
     private final EventService eventService;
+    private final PlaceAutocomplete placeAutocomplete;
 
     private User currentUser;
     private Event event;
@@ -58,15 +60,17 @@ public class EventFormView extends VerticalLayout implements HasUrlParameter<Lon
     private ComboBox<Categorie> categorieField;
     private DateTimePicker dateDebutField;
     private DateTimePicker dateFinField;
-    private TextField lieuField;
+    private ComboBox<String> lieuField;
     private TextField villeField;
     private IntegerField capaciteMaxField;
     private NumberField prixUnitaireField;
     private TextField imageUrlField;
 
-    public EventFormView(SecurityService securityService, EventService eventService) {
+    public EventFormView(SecurityService securityService, EventService eventService,
+            PlaceAutocomplete placeAutocomplete) {
         this.securityService = securityService;
         this.eventService = eventService;
+        this.placeAutocomplete = placeAutocomplete;
 
         this.currentUser = securityService.getAuthenticatedUser()
                 .orElseThrow(() -> new RuntimeException("User not authenticated"));
@@ -171,8 +175,13 @@ public class EventFormView extends VerticalLayout implements HasUrlParameter<Lon
                 .asRequired("La date de fin est obligatoire")
                 .bind(Event::getDateFin, Event::setDateFin);
 
-        // Location
-        lieuField = new TextField("Lieu");
+        // Location: venues of published events are suggested as the user types, any other venue is accepted
+        lieuField = new ComboBox<>("Lieu");
+        lieuField.setItems(query -> placeAutocomplete
+                .suggestLieux(query.getFilter().orElse(""), query.getOffset() + query.getLimit())
+                .stream().skip(query.getOffset()));
+        lieuField.setAllowCustomValue(true);
+        lieuField.addCustomValueSetListener(e -> lieuField.setValue(e.getDetail()));
         lieuField.setRequired(true);
         binder.forField(lieuField)
                 .asRequired("Le lieu est obligatoire")
@@ -120,7 +120,7 @@ public class MyEventsView extends VerticalLayout {
         })).setHeader("Statut").setAutoWidth(true);
 
         grid.addColumn(new ComponentRenderer<>(event -> {
-            int reserved = reservationService.calculateTotalReservedPlaces(event.getId());
+            int reserved = event.getPlacesReservees();
             int total = event.getCapaciteMax();
             double percentage = (double) reserved / total;
 
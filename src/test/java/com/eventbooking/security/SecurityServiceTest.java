@@ -0,0 +1,88 @@
+package com.eventbooking.security;
+
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.Role;
+import com.eventbooking.repository.UserRepository;
+import com.eventbooking.service.UserChangedEvent;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.spring.security.AuthenticationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SecurityServiceTest {
+
+    private static final String EMAIL = "client@event.ma";
+
+    private UserRepository userRepository;
+    private SecurityService securityService;
+    private Role role = Role.CLIENT;
+
+    @BeforeEach
+    void setUp() {
+        UserDetails details = Mockito.mock(UserDetails.class);
+        Mockito.when(details.getUsername()).thenReturn(EMAIL);
+        AuthenticationContext authenticationContext = Mockito.mock(AuthenticationContext.class);
+        Mockito.when(authenticationContext.getAuthenticatedUser(UserDetails.class)).thenReturn(Optional.of(details));
+
+        userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail(EMAIL)).thenAnswer(invocation -> Optional.of(User.builder()
+                .id(7L)
+                .email(EMAIL)
+                .nom("Alaoui")
+                .prenom("Sara")
+                .password("secret-hash")
+                .role(role)
+                .actif(true)
+                .build()));
+
+        // Session attribute backed by the last snapshot stored
+        ArgumentCaptor<AuthenticatedUser> stored = ArgumentCaptor.forClass(AuthenticatedUser.class);
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+        Mockito.doNothing().when(session).setAttribute(Mockito.eq(AuthenticatedUser.class), stored.capture());
+        Mockito.when(session.getAttribute(AuthenticatedUser.class))
+                .thenAnswer(invocation -> stored.getAllValues().isEmpty() ? null : stored.getValue());
+        VaadinSession.setCurrent(session);
+
+        securityService = new SecurityService(authenticationContext, userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        VaadinSession.setCurrent(null);
+    }
+
+    @Test
+    void loadsTheUserOncePerSession() {
+        User first = securityService.getAuthenticatedUser().orElseThrow();
+        User second = securityService.getAuthenticatedUser().orElseThrow();
+
+        Mockito.verify(userRepository, Mockito.times(1)).findByEmail(EMAIL);
+        assertNotSame(first, second);
+        assertEquals(7L, second.getId());
+        assertNull(second.getPassword());
+    }
+
+    @Test
+    void reloadsAfterAChangeOfThatUser() {
+        securityService.getAuthenticatedUser();
+        securityService.onUserChanged(new UserChangedEvent(99L));
+        securityService.getAuthenticatedUser();
+        Mockito.verify(userRepository, Mockito.times(1)).findByEmail(EMAIL);
+
+        role = Role.ORGANIZER;
+        securityService.onUserChanged(new UserChangedEvent(7L));
+
+        assertEquals(Role.ORGANIZER, securityService.getAuthenticatedUser().orElseThrow().getRole());
+        Mockito.verify(userRepository, Mockito.times(2)).findByEmail(EMAIL);
+    }
+}
@@ -0,0 +1,102 @@
+package com.eventbooking.service;
+
+import com.eventbooking.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AvailabilityCacheTest {
+
+    private EventRepository repository;
+    private AvailabilityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(EventRepository.class);
+        cache = new AvailabilityCache(repository, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsOnMissAndStaysWithinItsMaximumSize() {
+        when(repository.findPlacesDisponiblesById(1L)).thenReturn(Optional.of(100));
+        when(repository.findPlacesDisponiblesById(2L)).thenReturn(Optional.of(50));
+        when(repository.findPlacesDisponiblesById(3L)).thenReturn(Optional.of(10));
+        when(repository.findPlacesDisponiblesById(4L)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), cache.getPlacesDisponibles(4L));
+        assertEquals(Optional.of(100), cache.getPlacesDisponibles(1L));
+        assertEquals(Optional.of(100), cache.getPlacesDisponibles(1L));
+        verify(repository, times(1)).findPlacesDisponiblesById(1L);
+
+        assertEquals(Optional.of(50), cache.getPlacesDisponibles(2L));
+        assertEquals(Optional.of(10), cache.getPlacesDisponibles(3L));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void appliesCommittedReservationsAndIgnoresRolledBackOnes() {
+        when(repository.findPlacesDisponiblesById(1L)).thenReturn(Optional.of(100));
+        cache.getPlacesDisponibles(1L);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED, () -> cache.adjustAfterCommit(1L, 3));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK, () -> cache.adjustAfterCommit(1L, 5));
+        complete(TransactionSynchronization.STATUS_COMMITTED, () -> cache.adjustAfterCommit(Map.of(1L, -1)));
+
+        assertEquals(Optional.of(98), cache.getPlacesDisponibles(1L));
+        verify(repository, times(1)).findPlacesDisponiblesById(1L);
+    }
+
+    @Test
+    void neverCachesAValueReadWhileAWriteIsInFlight() {
+        when(repository.findPlacesDisponiblesById(1L)).thenReturn(Optional.of(100)).thenReturn(Optional.of(97));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.adjustAfterCommit(1L, 3);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Read before the commit: served but not cached, so the delta is not applied twice
+        assertEquals(Optional.of(100), cache.getPlacesDisponibles(1L));
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(Optional.of(97), cache.getPlacesDisponibles(1L));
+        assertEquals(Optional.of(97), cache.getPlacesDisponibles(1L));
+        verify(repository, times(2)).findPlacesDisponiblesById(1L);
+    }
+
+    @Test
+    void dropsTheValueWhenInvalidated() {
+        when(repository.findPlacesDisponiblesById(1L)).thenReturn(Optional.of(100)).thenReturn(Optional.of(150));
+        cache.getPlacesDisponibles(1L);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED, () -> cache.invalidateAfterCommit(1L));
+
+        assertEquals(Optional.of(150), cache.getPlacesDisponibles(1L));
+    }
+
+    private static void complete(int status, Runnable write) {
+        TransactionSynchronizationManager.initSynchronization();
+        write.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+}
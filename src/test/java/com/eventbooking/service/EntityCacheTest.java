@@ -0,0 +1,155 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.Role;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EventBookingApplication.class)
+class EntityCacheTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        User organizer = createOrganizer();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        userRepository.findById(organizer.getId());
+        userRepository.findByEmail(organizer.getEmail());
+        long userHits = statistics.getDomainDataRegionStatistics("users").getHitCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        for (int i = 0; i < 10; i++) {
+            userRepository.findById(organizer.getId());
+            userRepository.findByEmail(organizer.getEmail());
+        }
+
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() - userHits >= 10);
+        assertTrue(statistics.getQueryCacheHitCount() - queryHits >= 10);
+    }
+
+    @Test
+    void bookingsDoNotFlushTheUserCache() {
+        User organizer = createOrganizer();
+        Event event = createEvent(organizer);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userRepository.findById(organizer.getId());
+        userRepository.findByEmail(organizer.getEmail());
+
+        // Counter updates are bulk updates on the events table only
+        eventRepository.adjustPlacesReservees(event.getId(), 2);
+        assertEquals(2, eventService.findById(event.getId()).getPlacesReservees());
+
+        long userHits = statistics.getDomainDataRegionStatistics("users").getHitCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        userRepository.findById(organizer.getId());
+        userRepository.findByEmail(organizer.getEmail());
+        assertEquals(userHits + 1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        assertEquals(queryHits + 1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void userWritesAreVisibleThroughTheCache() {
+        User organizer = createOrganizer();
+        userRepository.findById(organizer.getId());
+
+        User changes = userRepository.findById(organizer.getId()).orElseThrow();
+        changes.setNom("Renommé");
+        userRepository.save(changes);
+
+        assertEquals("Renommé", userRepository.findById(organizer.getId()).orElseThrow().getNom());
+        assertEquals("Renommé", userRepository.findByEmail(organizer.getEmail()).orElseThrow().getNom());
+    }
+
+    @Test
+    void repeatedEventLookupsAreServedFromTheCache() {
+        Event event = createEvent(createOrganizer());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        eventService.findById(event.getId());
+        eventRepository.countByCategorie(Categorie.CONFERENCE);
+        long eventHits = statistics.getDomainDataRegionStatistics("events").getHitCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        for (int i = 0; i < 10; i++) {
+            eventService.findById(event.getId());
+            eventRepository.countByCategorie(Categorie.CONFERENCE);
+        }
+
+        assertTrue(statistics.getDomainDataRegionStatistics("events").getHitCount() - eventHits >= 10);
+        assertTrue(statistics.getQueryCacheHitCount() - queryHits >= 10);
+    }
+
+    @Test
+    void modifyAndPublishEvictTheCachedEvent() {
+        User organizer = createOrganizer();
+        Event event = createEvent(organizer);
+        Cache cache = entityManagerFactory.getCache();
+
+        Event changes = eventService.findById(event.getId());
+        changes.setTitre("Nouveau titre");
+        eventService.modifyEvent(event.getId(), changes, organizer);
+        assertFalse(cache.contains(Event.class, event.getId()));
+        assertEquals("Nouveau titre", eventService.findById(event.getId()).getTitre());
+
+        // Counters moved by bulk updates stay visible once published
+        eventRepository.adjustPlacesReservees(event.getId(), 2);
+        eventService.findById(event.getId());
+        eventService.publishEvent(event.getId());
+        assertFalse(cache.contains(Event.class, event.getId()));
+        Event published = eventService.findById(event.getId());
+        assertEquals(StatutEvent.PUBLIE, published.getStatut());
+        assertEquals(2, published.getPlacesReservees());
+    }
+
+    private User createOrganizer() {
+        return userRepository.save(User.builder()
+                .nom("Cache")
+                .prenom("Organisateur")
+                .email("cache-" + System.nanoTime() + "@event.ma")
+                .password("password123")
+                .role(Role.ORGANIZER)
+                .build());
+    }
+
+    private Event createEvent(User organizer) {
+        return eventRepository.save(Event.builder()
+                .titre("Conférence en cache")
+                .categorie(Categorie.CONFERENCE)
+                .dateDebut(LocalDateTime.now().plusYears(6))
+                .dateFin(LocalDateTime.now().plusYears(6).plusHours(2))
+                .lieu("Salle " + System.nanoTime())
+                .ville("Rabat")
+                .capaciteMax(100)
+                .prixUnitaire(50.0)
+                .organisateur(organizer)
+                .statut(StatutEvent.BROUILLON)
+                .build());
+    }
+}
@@ -0,0 +1,74 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.Role;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EventBookingApplication.class)
+class EventChangedEventTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlaceAutocomplete placeAutocomplete;
+
+    @Autowired
+    private PopularEventsLeaderboard popularEventsLeaderboard;
+
+    @Autowired
+    private EventIntervalIndex eventIntervalIndex;
+
+    @Test
+    void everyIndexFollowsTheLifecycleOfAnEvent() {
+        User organizer = userRepository.save(User.builder()
+                .nom("Lifecycle")
+                .prenom("Organisateur")
+                .email("lifecycle-" + System.nanoTime() + "@event.ma")
+                .password("password123")
+                .role(Role.ORGANIZER)
+                .build());
+        String ville = "Ifrane" + System.nanoTime();
+        LocalDateTime start = LocalDateTime.now().plusYears(3);
+
+        Event event = eventService.createEvent(Event.builder()
+                .titre("Festival d'hiver")
+                .categorie(Categorie.CONCERT)
+                .dateDebut(start)
+                .dateFin(start.plusHours(4))
+                .lieu("Place de la Paix")
+                .ville(ville)
+                .capaciteMax(300)
+                .prixUnitaire(80.0)
+                .build(), organizer);
+        assertEquals(List.of(), placeAutocomplete.suggestVilles(ville, 10));
+
+        eventService.publishEvent(event.getId());
+        assertEquals(List.of(ville), placeAutocomplete.suggestVilles(ville, 10));
+        assertTrue(popularEventsLeaderboard.top(popularEventsLeaderboard.size()).contains(event.getId()));
+        assertEquals(List.of(event.getId()), eventIntervalIndex.overlapping(start, start.plusHours(1),
+                StatutEvent.PUBLIE));
+
+        eventService.cancelEvent(event.getId());
+        assertEquals(List.of(), placeAutocomplete.suggestVilles(ville, 10));
+        assertFalse(popularEventsLeaderboard.top(popularEventsLeaderboard.size()).contains(event.getId()));
+        assertEquals(List.of(), eventIntervalIndex.overlapping(start, start.plusHours(1), StatutEvent.PUBLIE));
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.TranchePrix;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.service.EventFacetService.EventFacets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventFacetServiceTest {
+
+    private EventRepository repository;
+    private EventFacetService facetService;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(EventRepository.class);
+        Mockito.when(repository.countByCategorieVilleAndPrix(StatutEvent.PUBLIE)).thenReturn(List.of(
+                new Object[] { Categorie.CONCERT, "Casablanca", 150.0, 4L },
+                new Object[] { Categorie.CONCERT, "Rabat", 50.0, 1L },
+                new Object[] { Categorie.SPORT, "Casablanca", 80.0, 2L },
+                new Object[] { Categorie.THEATRE, "Fès", 600.0, 3L }));
+        facetService = new EventFacetService(repository, 100, 60);
+    }
+
+    @Test
+    void countsEveryFacetWithoutFilters() {
+        EventFacets facets = facetService.getFacets(StatutEvent.PUBLIE, null, null);
+
+        assertEquals(5, facets.count(Categorie.CONCERT));
+        assertEquals(0, facets.count(Categorie.AUTRE));
+        assertEquals(3, facets.count(TranchePrix.MOINS_100));
+        assertEquals(4, facets.count(TranchePrix.DE_100_A_300));
+        assertEquals(0, facets.count(TranchePrix.DE_300_A_500));
+        assertEquals(3, facets.count(TranchePrix.PLUS_500));
+        assertEquals(10, facets.total());
+    }
+
+    @Test
+    void countsCategoriesUnderTheCityFilter() {
+        EventFacets facets = facetService.getFacets(StatutEvent.PUBLIE, Categorie.CONCERT, "casablanca");
+
+        // Every categorie of the city, so another one can be picked; price ranges and total under both filters
+        assertEquals(4, facets.count(Categorie.CONCERT));
+        assertEquals(2, facets.count(Categorie.SPORT));
+        assertEquals(0, facets.count(Categorie.THEATRE));
+        assertEquals(4, facets.count(TranchePrix.DE_100_A_300));
+        assertEquals(0, facets.count(TranchePrix.MOINS_100));
+        assertEquals(4, facets.total());
+    }
+
+    @Test
+    void cachesPerFilterSignature() {
+        facetService.getFacets(StatutEvent.PUBLIE, null, "Rabat");
+        facetService.getFacets(StatutEvent.PUBLIE, null, " rabat ");
+        facetService.getFacets(StatutEvent.PUBLIE, Categorie.SPORT, null);
+
+        Mockito.verify(repository, Mockito.times(2)).countByCategorieVilleAndPrix(StatutEvent.PUBLIE);
+    }
+}
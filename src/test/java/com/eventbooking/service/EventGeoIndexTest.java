@@ -0,0 +1,114 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.VilleMaroc;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.service.EventGeoIndex.Nearby;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventGeoIndexTest {
+
+    private EventGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventGeoIndex(Mockito.mock(EventRepository.class));
+    }
+
+    @Test
+    void locatesCitiesFromTheGazetteer() {
+        assertEquals(VilleMaroc.FES, VilleMaroc.of("fes").orElseThrow());
+        assertEquals(VilleMaroc.AL_HOCEIMA, VilleMaroc.of("Al-Hoceima").orElseThrow());
+        assertTrue(VilleMaroc.of("Atlantis").isEmpty());
+
+        double casablancaRabat = EventGeoIndex.distanceKm(
+                VilleMaroc.CASABLANCA.getLatitude(), VilleMaroc.CASABLANCA.getLongitude(),
+                VilleMaroc.RABAT.getLatitude(), VilleMaroc.RABAT.getLongitude());
+        assertEquals(87, casablancaRabat, 3);
+        assertEquals("u4pruydqqvj", EventGeoIndex.geohash(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    void findsEventsAroundACityNearestFirst() {
+        index(1L, VilleMaroc.RABAT, StatutEvent.PUBLIE, Categorie.CONCERT);
+        index(2L, VilleMaroc.CASABLANCA, StatutEvent.PUBLIE, Categorie.SPORT);
+        index(3L, VilleMaroc.SALE, StatutEvent.PUBLIE, Categorie.CONCERT);
+        index(4L, VilleMaroc.MARRAKECH, StatutEvent.PUBLIE, Categorie.CONCERT);
+        index(5L, VilleMaroc.KENITRA, StatutEvent.BROUILLON, Categorie.CONCERT);
+
+        assertEquals(List.of(1L, 3L, 2L), ids(index.within(VilleMaroc.RABAT.getLatitude(),
+                VilleMaroc.RABAT.getLongitude(), 100, StatutEvent.PUBLIE, null)));
+        assertEquals(List.of(1L, 3L), ids(index.within(VilleMaroc.RABAT.getLatitude(),
+                VilleMaroc.RABAT.getLongitude(), 100, StatutEvent.PUBLIE, Categorie.CONCERT)));
+        assertEquals(List.of(4L, 2L), ids(index.nearest(VilleMaroc.MARRAKECH.getLatitude(),
+                VilleMaroc.MARRAKECH.getLongitude(), 2, StatutEvent.PUBLIE, null)));
+
+        index.removeAfterCommit(1L);
+        assertEquals(List.of(3L), ids(index.within(VilleMaroc.RABAT.getLatitude(),
+                VilleMaroc.RABAT.getLongitude(), 20, null, null)));
+    }
+
+    @Test
+    void matchesALinearScan() {
+        Random random = new Random(42);
+        List<double[]> points = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            // Roughly the bounding box of Morocco
+            double latitude = 21 + random.nextDouble() * 15;
+            double longitude = -17 + random.nextDouble() * 16;
+            points.add(new double[] { id, latitude, longitude });
+            index.indexAfterCommit(Event.builder()
+                    .id(id)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .statut(StatutEvent.PUBLIE)
+                    .build());
+        }
+
+        for (int i = 0; i < 200; i++) {
+            double latitude = 21 + random.nextDouble() * 15;
+            double longitude = -17 + random.nextDouble() * 16;
+            double radiusKm = 1 + random.nextDouble() * 300;
+            Comparator<double[]> byDistance = Comparator.comparingDouble(
+                    p -> EventGeoIndex.distanceKm(latitude, longitude, p[1], p[2]));
+            List<Long> expected = points.stream()
+                    .filter(p -> EventGeoIndex.distanceKm(latitude, longitude, p[1], p[2]) <= radiusKm)
+                    .sorted(byDistance)
+                    .map(p -> (long) p[0])
+                    .toList();
+            List<Long> expectedNearest = points.stream()
+                    .sorted(byDistance)
+                    .limit(5)
+                    .map(p -> (long) p[0])
+                    .toList();
+            assertEquals(expected, ids(index.within(latitude, longitude, radiusKm, null, null)));
+            assertEquals(expectedNearest, ids(index.nearest(latitude, longitude, 5, null, null)));
+        }
+    }
+
+    private void index(Long id, VilleMaroc ville, StatutEvent statut, Categorie categorie) {
+        index.indexAfterCommit(Event.builder()
+                .id(id)
+                .latitude(ville.getLatitude())
+                .longitude(ville.getLongitude())
+                .statut(statut)
+                .categorie(categorie)
+                .build());
+    }
+
+    private static List<Long> ids(List<Nearby> nearby) {
+        return nearby.stream().map(Nearby::eventId).toList();
+    }
+}
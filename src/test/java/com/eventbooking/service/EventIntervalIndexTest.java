@@ -0,0 +1,104 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventIntervalIndexTest {
+
+    private static final LocalDateTime SATURDAY = LocalDateTime.of(2026, 5, 16, 0, 0);
+
+    private EventIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventIntervalIndex(Mockito.mock(EventRepository.class));
+    }
+
+    @Test
+    void findsMultiDayEventsStartedBeforeTheWindow() {
+        index(1L, SATURDAY.minusDays(20), SATURDAY.plusDays(20), StatutEvent.PUBLIE); // 40-day exhibition
+        index(2L, SATURDAY.plusHours(20), SATURDAY.plusHours(23), StatutEvent.PUBLIE);
+        index(3L, SATURDAY.minusDays(3), SATURDAY.minusDays(2), StatutEvent.PUBLIE);
+        index(4L, SATURDAY.plusDays(2), SATURDAY.plusDays(3), StatutEvent.PUBLIE);
+        index(5L, SATURDAY.plusHours(10), SATURDAY.plusHours(12), StatutEvent.BROUILLON);
+
+        assertEquals(List.of(1L, 5L, 2L), index.overlapping(SATURDAY, SATURDAY.plusDays(2), null));
+        assertEquals(List.of(1L, 2L), index.overlapping(SATURDAY, SATURDAY.plusDays(2), StatutEvent.PUBLIE));
+        // Half-open window: an event starting when the window ends is not in it
+        assertEquals(List.of(1L), index.overlapping(SATURDAY.minusDays(1), SATURDAY.plusHours(10), null));
+    }
+
+    @Test
+    void followsEventChanges() {
+        index(1L, SATURDAY, SATURDAY.plusHours(2), StatutEvent.PUBLIE);
+        index(1L, SATURDAY.plusDays(7), SATURDAY.plusDays(7).plusHours(2), StatutEvent.PUBLIE);
+        assertEquals(List.of(), index.overlapping(SATURDAY, SATURDAY.plusDays(1), null));
+        assertEquals(1, index.size());
+
+        index.removeAfterCommit(1L);
+        assertEquals(List.of(), index.overlapping(SATURDAY, SATURDAY.plusDays(30), null));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void movesAnEventBetweenStatuts() {
+        index(1L, SATURDAY, SATURDAY.plusHours(2), StatutEvent.BROUILLON);
+        index(1L, SATURDAY, SATURDAY.plusHours(2), StatutEvent.PUBLIE);
+
+        assertEquals(List.of(), index.overlapping(SATURDAY, SATURDAY.plusDays(1), StatutEvent.BROUILLON));
+        assertEquals(List.of(1L), index.overlapping(SATURDAY, SATURDAY.plusDays(1), StatutEvent.PUBLIE));
+        assertEquals(List.of(), index.overlapping(SATURDAY, SATURDAY.plusDays(1), StatutEvent.ANNULE));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void matchesALinearScan() {
+        Random random = new Random(42);
+        List<Event> events = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            LocalDateTime start = SATURDAY.plusHours(random.nextInt(24 * 365));
+            Event event = event(id, start, start.plusHours(1 + random.nextInt(24 * 30)), StatutEvent.PUBLIE);
+            events.add(event);
+            index.indexAfterCommit(event);
+        }
+        for (int i = 0; i < 500; i++) {
+            index.removeAfterCommit(events.remove(random.nextInt(events.size())).getId());
+        }
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime from = SATURDAY.plusHours(random.nextInt(24 * 365));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(24 * 14));
+            List<Long> expected = events.stream()
+                    .filter(e -> e.getDateDebut().isBefore(to) && e.getDateFin().isAfter(from))
+                    .sorted(Comparator.comparing(Event::getDateDebut).thenComparing(Event::getId))
+                    .map(Event::getId)
+                    .toList();
+            assertEquals(expected, index.overlapping(from, to, null));
+        }
+    }
+
+    private void index(Long id, LocalDateTime start, LocalDateTime end, StatutEvent statut) {
+        index.indexAfterCommit(event(id, start, end, statut));
+    }
+
+    private Event event(Long id, LocalDateTime start, LocalDateTime end, StatutEvent statut) {
+        return Event.builder()
+                .id(id)
+                .dateDebut(start)
+                .dateFin(end)
+                .statut(statut)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.Role;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Event search latency and heap allocation per query, database specifications
+ * against the former load-everything-then-stream implementation. The
+ * specification query must be faster and allocate less than the streams.
+ * Run with: ./mvnw test -Dtest=EventSearchBenchmarkTest -Dbenchmark=true -DargLine=-Xmx4g
+ * (-Dbenchmark.events=N to change the catalogue size, 1M by default)
+ */
+@SpringBootTest(classes = EventBookingApplication.class, properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN" })
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class EventSearchBenchmarkTest {
+
+    private static final int CHUNK_SIZE = 10_000;
+    private static final int RUNS = 5;
+    private static final String[] VILLES = { "Casablanca", "Rabat", "Marrakech", "Fès", "Tanger", "Agadir",
+            "Meknès", "Oujda", "Kénitra", "Tétouan" };
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void searchEvents() {
+        int events = Integer.getInteger("benchmark.events", 1_000_000);
+        insertEvents(events);
+
+        LocalDateTime from = LocalDateTime.now().plusDays(30);
+        LocalDateTime to = LocalDateTime.now().plusDays(200);
+
+        Measurement specification = measure("specification", () -> eventService.searchEvents(StatutEvent.PUBLIE,
+                Categorie.CONCERT, "rabat", from, to, 100.0, 120.0));
+
+        Measurement streams = measure("findAll + streams", () -> transactionTemplate.execute(status ->
+                eventRepository.findAll().stream()
+                        .filter(e -> e.getStatut() == StatutEvent.PUBLIE)
+                        .filter(e -> e.getCategorie() == Categorie.CONCERT)
+                        .filter(e -> e.getVille().equalsIgnoreCase("rabat"))
+                        .filter(e -> e.getDateDebut().isAfter(from))
+                        .filter(e -> e.getDateFin().isBefore(to))
+                        .filter(e -> e.getPrixUnitaire() >= 100.0)
+                        .filter(e -> e.getPrixUnitaire() <= 120.0)
+                        .toList()));
+
+        assertEquals(streams.rows(), specification.rows());
+        assertTrue(specification.millis() < streams.millis(),
+                "specification " + specification.millis() + " ms, streams " + streams.millis() + " ms");
+        assertTrue(specification.megabytes() < streams.megabytes(),
+                "specification " + specification.megabytes() + " MB, streams " + streams.megabytes() + " MB");
+    }
+
+    private Measurement measure(String label, Supplier<List<Event>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<Event> result = query.get(); // warm-up
+
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            result = query.get();
+            totalNanos += System.nanoTime() - start;
+            totalBytes += threads.getCurrentThreadAllocatedBytes() - bytes;
+        }
+
+        Measurement measurement = new Measurement(result.size(), totalNanos / 1e6 / RUNS, totalBytes / 1e6 / RUNS);
+        log.info("{}: {} rows, {} ms/query, {} MB allocated/query", label, measurement.rows(),
+                String.format("%.2f", measurement.millis()), String.format("%.1f", measurement.megabytes()));
+        return measurement;
+    }
+
+    private void insertEvents(int count) {
+        User organizer = userRepository.save(User.builder()
+                .nom("Benchmark")
+                .prenom("Organisateur")
+                .email("benchmark-" + System.nanoTime() + "@event.ma")
+                .password("password123")
+                .role(Role.ORGANIZER)
+                .build());
+
+        Categorie[] categories = Categorie.values();
+        StatutEvent[] statuts = StatutEvent.values();
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        String sql = "INSERT INTO events (id, titre, description, categorie, date_debut, date_fin, lieu, ville, "
+                + "capacite_max, prix_unitaire, places_reservees, mode_vente_flash, organisateur_id, statut, "
+                + "date_creation) VALUES (NEXT VALUE FOR events_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, false, ?, ?, ?)";
+
+        long start = System.nanoTime();
+        for (int offset = 0; offset < count; offset += CHUNK_SIZE) {
+            List<Object[]> rows = new ArrayList<>(CHUNK_SIZE);
+            for (int i = offset; i < Math.min(count, offset + CHUNK_SIZE); i++) {
+                LocalDateTime debut = base.plusHours(i % 8760);
+                rows.add(new Object[] { "Événement benchmark " + i, "Description de l'événement " + i,
+                        categories[i % categories.length].name(), Timestamp.valueOf(debut),
+                        Timestamp.valueOf(debut.plusHours(3)), "Salle " + (i % 500), VILLES[(i / 7) % VILLES.length],
+                        100 + i % 900, (double) (i % 500), organizer.getId(),
+                        statuts[(i / 3) % statuts.length].name(), Timestamp.valueOf(LocalDateTime.now()) });
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+        log.info("Inserted {} events in {} s", count, String.format("%.1f", (System.nanoTime() - start) / 1e9));
+    }
+
+    // Average latency and heap allocation of a query over the measured runs
+    private record Measurement(int rows, double millis, double megabytes) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Full-text query latency over a large catalogue; every query must average
+ * under 10 ms.
+ * Run with: ./mvnw test -Dtest=EventSearchIndexBenchmarkTest -Dbenchmark=true -DargLine=-Xmx3g
+ * (-Dbenchmark.events=N to change the catalogue size, 1M by default)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class EventSearchIndexBenchmarkTest {
+
+    private static final String[] WORDS = { "concert", "théâtre", "festival", "match", "conférence", "atelier",
+            "gnaoua", "jazz", "andalou", "derby", "comédie", "exposition", "marathon", "salon", "danse", "opéra" };
+    private static final String[] VILLES = { "Casablanca", "Rabat", "Marrakech", "Fès", "Tanger", "Agadir",
+            "Meknès", "Oujda", "Kénitra", "Tétouan" };
+    private static final String[] QUERIES = { "theatre", "festival jazz", "con", "opera rabat", "marathon fes",
+            "derby casa", "atelier danse tanger", "bakari", "salle mora" };
+    // Artist and venue names, three syllables each: about 27k distinct words
+    private static final String[] SYLLABLES = { "ba", "ka", "ri", "mo", "sa", "la", "na", "di", "ha", "za", "bou",
+            "ma", "ta", "fi", "lou", "ra", "ya", "ne", "mi", "ko", "sou", "ja", "ni", "do", "ga", "lé", "zi", "té",
+            "ou", "am" };
+    private static final int WARMUP_RUNS = 50;
+    private static final int RUNS = 200;
+
+    private static String name(int seed) {
+        int n = (int) Math.floorMod(seed * 2654435761L, 27_000L);
+        return SYLLABLES[n % 30] + SYLLABLES[(n / 30) % 30] + SYLLABLES[(n / 900) % 30];
+    }
+
+    private static Object[] row(long id) {
+        int i = (int) id;
+        return new Object[] { id,
+                WORDS[i % WORDS.length] + " " + name(i) + " " + name(i / 3),
+                "Édition " + i + " : " + name(i + 7) + " et " + name(i + 13) + ", "
+                        + WORDS[(i / 7) % WORDS.length] + " en " + VILLES[(i / 5) % VILLES.length],
+                "Salle " + name(i / 11),
+                VILLES[i % VILLES.length],
+                i % 4 == 0 ? StatutEvent.BROUILLON : StatutEvent.PUBLIE,
+                Categorie.values()[i % Categorie.values().length] };
+    }
+
+    @Test
+    void queryLatency() throws Exception {
+        int events = Integer.getInteger("benchmark.events", 1_000_000);
+        EventRepository repository = Mockito.mock(EventRepository.class);
+        Mockito.when(repository.findSearchDocumentsAfter(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    long afterId = invocation.getArgument(0);
+                    int size = invocation.getArgument(1, Pageable.class).getPageSize();
+                    List<Object[]> rows = new ArrayList<>(size);
+                    for (long id = afterId + 1; id <= Math.min(events, afterId + size); id++) {
+                        rows.add(row(id));
+                    }
+                    return rows;
+                });
+        EventSearchIndex index = new EventSearchIndex(repository);
+
+        // Same path as the startup rebuild
+        long start = System.nanoTime();
+        index.rebuild();
+        log.info("Indexed {} events in {} s", events, String.format("%.1f", (System.nanoTime() - start) / 1e9));
+
+        // Every query compiled before any is measured
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            for (String query : QUERIES) {
+                index.search(query, StatutEvent.PUBLIE, 50);
+            }
+        }
+        for (String query : QUERIES) {
+            long queryStart = System.nanoTime();
+            int hits = 0;
+            for (int run = 0; run < RUNS; run++) {
+                hits = index.search(query, StatutEvent.PUBLIE, 50).size();
+            }
+            double millis = (System.nanoTime() - queryStart) / 1e6 / RUNS;
+            log.info("{}: {} hits, {} ms/query", query, hits, String.format("%.2f", millis));
+            assertTrue(millis < 10, query + " took " + millis + " ms");
+        }
+    }
+}
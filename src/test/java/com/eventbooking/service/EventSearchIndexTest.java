@@ -0,0 +1,108 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new EventSearchIndex(Mockito.mock(EventRepository.class));
+        index(1L, "Soirée théâtre classique", "Molière joué par la troupe de l'Opéra", "Théâtre Mohammed V",
+                "Rabat", StatutEvent.PUBLIE, Categorie.THEATRE);
+        index(2L, "Festival Gnaoua", "Musiques du monde et théâtre de rue", "Place Moulay Hassan",
+                "Essaouira", StatutEvent.PUBLIE, Categorie.CONCERT);
+        index(3L, "Match Raja vs Wydad", "Derby de Casablanca", "Stade Mohammed V", "Casablanca",
+                StatutEvent.BROUILLON, Categorie.SPORT);
+    }
+
+    @Test
+    void foldsAccentsAndElisions() {
+        assertEquals(List.of(1L, 2L), index.search("theatre", null, 10));
+        assertEquals(List.of(1L), index.search("opera", null, 10));
+        assertEquals(List.of(1L), index.search("l'opéra", null, 10));
+    }
+
+    @Test
+    void matchesPrefixesAndRequiresEveryWord() {
+        assertEquals(List.of(3L), index.search("wyd", null, 10));
+        assertEquals(List.of(1L, 3L), index.search("mohammed", null, 10).stream().sorted().toList());
+        assertEquals(List.of(3L), index.search("stade moham", null, 10));
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndFiltersOnStatut() {
+        assertEquals(1L, index.search("théâtre", null, 10).get(0));
+        assertEquals(List.of(), index.search("derby", StatutEvent.PUBLIE, 10));
+    }
+
+    @Test
+    void filtersOnCategorieAndVilleAndPages() {
+        assertEquals(List.of(2L), index.search("theatre", null, Categorie.CONCERT, null, 0, 10));
+        assertEquals(List.of(1L), index.search("mohammed", null, null, " rabat ", 0, 10));
+        assertEquals(2, index.count("theatre", StatutEvent.PUBLIE, null, null));
+        assertEquals(index.search("theatre", null, 10).subList(1, 2), index.search("theatre", null, null, null, 1, 1));
+        assertEquals(List.of(), index.search("theatre", null, null, null, 2, 10));
+    }
+
+    @Test
+    void resumesAfterTheLastHitOfThePreviousPage() {
+        // Same text for all: equal scores, so the pages are cut on the id tie-breaker
+        for (long id = 10; id < 17; id++) {
+            index(id, "Concert jazz", "", "Salle " + id, "Rabat", StatutEvent.PUBLIE, Categorie.CONCERT);
+        }
+        List<Long> all = index.search("jazz", null, 100);
+
+        List<Long> paged = new ArrayList<>();
+        EventSearchIndex.Hits page = index.search("jazz", null, null, null, null, 0, 3);
+        while (!page.ids().isEmpty()) {
+            paged.addAll(page.ids());
+            page = index.search("jazz", null, null, null, page.last(), paged.size(), 3);
+        }
+        assertEquals(all, paged);
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L, 15L, 16L), all);
+    }
+
+    @Test
+    void matchesOnlyAmongTheGivenEvents() {
+        assertEquals(Set.of(2L), index.matchingAmong("theatre", null, null, List.of(2L, 3L)));
+        assertEquals(Set.of(1L, 2L), index.matchingAmong("theatre", StatutEvent.PUBLIE, null, List.of(1L, 2L, 3L)));
+        assertEquals(Set.of(), index.matchingAmong("derby", StatutEvent.PUBLIE, null, List.of(3L)));
+    }
+
+    @Test
+    void updatesAndRemovesIncrementally() {
+        index(2L, "Festival Gnaoua", "Musiques du monde", "Place Moulay Hassan", "Essaouira", StatutEvent.PUBLIE,
+                Categorie.CONCERT);
+        assertEquals(List.of(1L), index.search("theatre", null, 10));
+
+        index.removeAfterCommit(1L);
+        assertEquals(List.of(), index.search("theatre", null, 10));
+    }
+
+    private void index(Long id, String titre, String description, String lieu, String ville, StatutEvent statut,
+            Categorie categorie) {
+        index.indexAfterCommit(Event.builder()
+                .id(id)
+                .titre(titre)
+                .description(description)
+                .lieu(lieu)
+                .ville(ville)
+                .statut(statut)
+                .categorie(categorie)
+                .build());
+    }
+}
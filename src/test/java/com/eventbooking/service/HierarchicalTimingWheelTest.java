@@ -0,0 +1,63 @@
+package com.eventbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void expiresAtDeadlineAcrossLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        long[] delays = {1, 63, 64, 65, 600, 4095, 4096, 4097, 300_000};
+        for (long delay : delays) {
+            wheel.schedule(delay, delay * TICK);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 0; now <= 300_000; now++) {
+            long tick = now;
+            wheel.advance(now * TICK, value -> {
+                assertEquals(tick, value, "expired at the wrong tick");
+                expired.add(value);
+            });
+        }
+
+        assertEquals(delays.length, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void neverExpiresEarly() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 500);
+        wheel.schedule("hold", 10_200);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(10_999, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(11_000, expired::add);
+        assertEquals(List.of("hold"), expired);
+    }
+
+    @Test
+    void cancelledTimeoutsDoNotExpire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        HierarchicalTimingWheel.Timeout<String> first = wheel.schedule("first", 70 * TICK);
+        wheel.schedule("second", 70 * TICK);
+
+        assertTrue(wheel.cancel(first));
+        assertFalse(wheel.cancel(first));
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(100 * TICK, expired::add);
+        assertEquals(List.of("second"), expired);
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.service.EventFacetService.EventFacets;
+import com.eventbooking.service.HomepageSnapshotService.HomepageEvent;
+import com.eventbooking.service.HomepageSnapshotService.HomepageSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HomepageSnapshotServiceTest {
+
+    private EventService eventService;
+    private EventFacetService eventFacetService;
+    private HomepageSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        eventService = Mockito.mock(EventService.class);
+        eventFacetService = Mockito.mock(EventFacetService.class);
+        service = new HomepageSnapshotService(eventService, eventFacetService, 3600);
+
+        LocalDateTime now = LocalDateTime.now();
+        when(eventService.getPopularEvents(anyInt())).thenReturn(List.of(
+                event(1L, StatutEvent.PUBLIE, now.plusDays(40)),
+                event(2L, StatutEvent.ANNULE, now.plusDays(2))));
+        when(eventService.getEventsStarting(any(), any(), eq(StatutEvent.PUBLIE), eq(6))).thenReturn(List.of(
+                event(4L, StatutEvent.PUBLIE, now.plusDays(3))));
+        when(eventFacetService.getFacets(StatutEvent.PUBLIE, null, null)).thenReturn(
+                new EventFacets(Map.of(Categorie.CONCERT, 5L), Map.of(), 5));
+    }
+
+    @Test
+    void buildsTheSnapshotFromPublishedEvents() {
+        assertSame(HomepageSnapshot.EMPTY, service.getSnapshot());
+
+        service.refresh();
+        HomepageSnapshot snapshot = service.getSnapshot();
+
+        assertEquals(List.of(1L), snapshot.featured().stream().map(HomepageEvent::id).toList());
+        assertEquals(List.of(4L), snapshot.upcoming().stream().map(HomepageEvent::id).toList());
+        assertEquals(5, snapshot.count(Categorie.CONCERT));
+        assertEquals(0, snapshot.count(Categorie.SPORT));
+    }
+
+    @Test
+    void servesTheSnapshotWithoutQueryingAgain() {
+        service.refresh();
+        HomepageSnapshot snapshot = service.getSnapshot();
+        for (int i = 0; i < 10; i++) {
+            assertSame(snapshot, service.getSnapshot());
+        }
+        verify(eventService, times(1)).getPopularEvents(anyInt());
+    }
+
+    @Test
+    void keepsThePreviousSnapshotWhenARefreshFails() {
+        service.refresh();
+        HomepageSnapshot snapshot = service.getSnapshot();
+
+        when(eventService.getPopularEvents(anyInt())).thenThrow(new IllegalStateException("base indisponible"));
+        service.refresh();
+
+        assertSame(snapshot, service.getSnapshot());
+    }
+
+    private static Event event(Long id, StatutEvent statut, LocalDateTime dateDebut) {
+        return Event.builder()
+                .id(id)
+                .titre("Événement " + id)
+                .categorie(Categorie.CONCERT)
+                .ville("Rabat")
+                .prixUnitaire(100.0)
+                .dateDebut(dateDebut)
+                .statut(statut)
+                .build();
+    }
+}
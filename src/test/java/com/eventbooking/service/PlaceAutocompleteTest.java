@@ -0,0 +1,143 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.service.PlaceAutocomplete.VilleSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlaceAutocompleteTest {
+
+    private PlaceAutocomplete autocomplete;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new PlaceAutocomplete(Mockito.mock(EventRepository.class));
+    }
+
+    @Test
+    void suggestsMostUsedCitiesFirst() {
+        index(1L, "Marrakech", StatutEvent.PUBLIE);
+        index(2L, "Casablanca", StatutEvent.PUBLIE);
+        index(3L, "Casablanca", StatutEvent.PUBLIE);
+        index(4L, "Case Départ", StatutEvent.PUBLIE);
+        index(5L, "Casablanca", StatutEvent.PUBLIE);
+
+        assertEquals(List.of("Casablanca", "Case Départ"), autocomplete.suggestVilles("ca", 10));
+        assertEquals(List.of("Casablanca"), autocomplete.suggestVilles("ca", 1));
+        assertEquals(List.of(), autocomplete.suggestVilles("rabat", 10));
+        assertEquals(3, autocomplete.suggestVilles("", 10).size());
+    }
+
+    @Test
+    void ignoresAccentsCaseAndSpacing() {
+        index(1L, "Fès", StatutEvent.PUBLIE);
+        index(2L, "FES", StatutEvent.PUBLIE);
+        index(3L, "Ben  Guerir", StatutEvent.PUBLIE);
+
+        assertEquals(List.of("Fès"), autocomplete.suggestVilles("fe", 10));
+        assertEquals(List.of("Ben  Guerir"), autocomplete.suggestVilles("BEN GU", 10));
+    }
+
+    @Test
+    void followsEventChanges() {
+        index(1L, "Rabat", StatutEvent.PUBLIE);
+        index(1L, "Tanger", StatutEvent.PUBLIE);
+        assertEquals(List.of(), autocomplete.suggestVilles("ra", 10));
+        assertEquals(List.of("Tanger"), autocomplete.suggestVilles("t", 10));
+
+        autocomplete.removeAfterCommit(1L);
+        assertEquals(List.of(), autocomplete.suggestVilles("", 10));
+        assertEquals(0, autocomplete.size());
+    }
+
+    @Test
+    void suggestsOnlyCitiesOfPublishedEvents() {
+        index(1L, "Oujda", StatutEvent.BROUILLON);
+        assertEquals(List.of(), autocomplete.suggestVilles("ou", 10));
+
+        index(1L, "Oujda", StatutEvent.PUBLIE);
+        assertEquals(List.of("Oujda"), autocomplete.suggestVilles("ou", 10));
+
+        index(1L, "Oujda", StatutEvent.ANNULE);
+        assertEquals(List.of(), autocomplete.suggestVilles("ou", 10));
+        assertEquals(0, autocomplete.size());
+    }
+
+    @Test
+    void suggestsMostUsedVenuesOfPublishedEventsOnly() {
+        index(1L, "Casablanca", "Complexe Mohammed V", StatutEvent.PUBLIE);
+        index(2L, "Casablanca", "Studio des Arts Vivants", StatutEvent.PUBLIE);
+        index(3L, "Rabat", "Complexe Moulay Abdellah", StatutEvent.PUBLIE);
+        index(4L, "Casablanca", "Complexe Mohammed V", StatutEvent.PUBLIE);
+        index(5L, "Fès", "Complexe Sportif de Fès", StatutEvent.BROUILLON);
+
+        assertEquals(List.of("Complexe Mohammed V", "Complexe Moulay Abdellah"),
+                autocomplete.suggestLieux("COMP", 10));
+        assertEquals(List.of("Studio des Arts Vivants"), autocomplete.suggestLieux("studio des", 10));
+
+        // Cancelling or removing an event stops suggesting its venue
+        index(3L, "Rabat", "Complexe Moulay Abdellah", StatutEvent.ANNULE);
+        autocomplete.removeAfterCommit(2L);
+        assertEquals(List.of("Complexe Mohammed V"), autocomplete.suggestLieux("", 10));
+    }
+
+    @Test
+    void countsTheEventsOfEachSuggestedCityPerCategorie() {
+        index(1L, "Rabat", Categorie.CONCERT);
+        index(2L, "Rabat", Categorie.SPORT);
+        index(3L, "Rabat", Categorie.SPORT);
+        index(4L, "Ifrane", Categorie.CONCERT);
+
+        assertEquals(List.of(new VilleSuggestion("Rabat", 3), new VilleSuggestion("Ifrane", 1)),
+                autocomplete.suggestVilles("", null, 10));
+        assertEquals(List.of(new VilleSuggestion("Rabat", 2)), autocomplete.suggestVilles("", Categorie.SPORT, 10));
+        assertEquals(List.of(), autocomplete.suggestVilles("", Categorie.THEATRE, 10));
+
+        // A city leaving a categorie is no longer suggested under it
+        index(1L, "Rabat", Categorie.SPORT);
+        assertEquals(List.of(new VilleSuggestion("Ifrane", 1)), autocomplete.suggestVilles("", Categorie.CONCERT, 10));
+    }
+
+    @Test
+    void trieKeepsSubtreeWeightsAfterRemovals() {
+        WeightedPrefixTrie trie = new WeightedPrefixTrie();
+        trie.add("Agadir", 5);
+        trie.add("Agadir Bay", 1);
+        trie.add("Azilal", 3);
+        trie.add("Agadir", -5);
+
+        assertEquals(0, trie.weight("agadir"));
+        assertEquals(List.of("Azilal", "Agadir Bay"), trie.suggest("a", 10));
+        assertEquals(List.of("Agadir Bay"), trie.suggest("agadir", 10));
+    }
+
+    private void index(Long id, String ville, Categorie categorie) {
+        autocomplete.indexAfterCommit(Event.builder()
+                .id(id)
+                .ville(ville)
+                .categorie(categorie)
+                .statut(StatutEvent.PUBLIE)
+                .build());
+    }
+
+    private void index(Long id, String ville, StatutEvent statut) {
+        index(id, ville, null, statut);
+    }
+
+    private void index(Long id, String ville, String lieu, StatutEvent statut) {
+        autocomplete.indexAfterCommit(Event.builder()
+                .id(id)
+                .ville(ville)
+                .lieu(lieu)
+                .statut(statut)
+                .build());
+    }
+}
@@ -0,0 +1,71 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PopularEventsLeaderboardTest {
+
+    private PopularEventsLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        EventRepository repository = Mockito.mock(EventRepository.class);
+        Mockito.when(repository.findReservedPlacesOfPublishedEvents()).thenReturn(List.of(
+                new Object[] { 1L, 10 },
+                new Object[] { 2L, 30 },
+                new Object[] { 3L, 20 },
+                new Object[] { 4L, 20 }));
+        leaderboard = new PopularEventsLeaderboard(repository, Mockito.mock(ApplicationEventPublisher.class));
+        leaderboard.rebuild();
+    }
+
+    @Test
+    void readsTopKMostReservedFirst() {
+        assertEquals(List.of(2L, 3L, 4L), leaderboard.top(3));
+        assertEquals(List.of(2L, 3L, 4L, 1L), leaderboard.top(10));
+        assertEquals(List.of(), leaderboard.top(0));
+    }
+
+    @Test
+    void movesEventsOnReservationsAndCancellations() {
+        leaderboard.adjustAfterCommit(1L, 25);
+        assertEquals(List.of(1L, 2L), leaderboard.top(2));
+
+        leaderboard.adjustAfterCommit(Map.of(1L, -25, 4L, 15));
+        assertEquals(List.of(4L, 2L), leaderboard.top(2));
+
+        leaderboard.resetAfterCommit(4L, 0);
+        assertEquals(List.of(2L, 3L, 1L, 4L), leaderboard.top(4));
+    }
+
+    @Test
+    void tracksOnlyPublishedEvents() {
+        leaderboard.adjustAfterCommit(99L, 50);
+        assertEquals(4, leaderboard.size());
+
+        leaderboard.trackAfterCommit(event(5L, StatutEvent.PUBLIE, 40));
+        assertEquals(List.of(5L), leaderboard.top(1));
+
+        leaderboard.trackAfterCommit(event(5L, StatutEvent.ANNULE, 40));
+        leaderboard.removeAfterCommit(2L);
+        assertEquals(List.of(3L, 4L, 1L), leaderboard.top(10));
+    }
+
+    private Event event(Long id, StatutEvent statut, int placesReservees) {
+        return Event.builder()
+                .id(id)
+                .statut(statut)
+                .placesReservees(placesReservees)
+                .build();
+    }
+}
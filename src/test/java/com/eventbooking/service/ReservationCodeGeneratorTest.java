@@ -0,0 +1,58 @@
+package com.eventbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationCodeGeneratorTest {
+
+    private final ReservationCodeGenerator generator = new ReservationCodeGenerator(7);
+
+    @Test
+    void codesAreUniqueAcrossThreads() {
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        int count = 200_000;
+
+        IntStream.range(0, count).parallel().forEach(i -> codes.add(generator.nextCode()));
+
+        assertEquals(count, codes.size());
+    }
+
+    @Test
+    void generatedCodesPassTheCheckSymbol() {
+        String code = generator.nextCode();
+
+        assertTrue(code.matches("EVT-[0-9A-Z]{7}-[0-9A-Z]{7}"), code);
+        assertTrue(ReservationCodeGenerator.isValid(code));
+        assertTrue(ReservationCodeGenerator.isValid(code.toLowerCase()));
+    }
+
+    @Test
+    void singleSymbolTyposAreRejected() {
+        String code = generator.nextCode();
+        int position = code.length() - 3;
+        char typo = code.charAt(position) == 'A' ? 'B' : 'A';
+
+        assertFalse(ReservationCodeGenerator.isValid(code.substring(0, position) + typo + code.substring(position + 1)));
+    }
+
+    @Test
+    void requiresAValidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new ReservationCodeGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ReservationCodeGenerator(1024));
+    }
+
+    @Test
+    void legacyCodesRemainValid() {
+        assertTrue(ReservationCodeGenerator.isValid("EVT-48213"));
+        assertFalse(ReservationCodeGenerator.isValid("EVT-4821"));
+        assertFalse(ReservationCodeGenerator.isValid("RES-48213"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.Reservation;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.Role;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.StatutReservation;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = EventBookingApplication.class)
+class ReservationListingTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationCodeGenerator codeGenerator;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void readsAPageAtAnyOffset() {
+        String nom = "Listing" + System.nanoTime();
+        User client = userRepository.save(User.builder()
+                .nom(nom)
+                .prenom("Client")
+                .email(nom.toLowerCase() + "@event.ma")
+                .password("password123")
+                .role(Role.CLIENT)
+                .build());
+        Event event = eventRepository.save(Event.builder()
+                .titre("Concert du listing")
+                .categorie(Categorie.CONCERT)
+                .dateDebut(LocalDateTime.now().plusDays(10))
+                .dateFin(LocalDateTime.now().plusDays(10).plusHours(2))
+                .lieu("Théâtre Mohammed V")
+                .ville("Rabat")
+                .capaciteMax(100)
+                .prixUnitaire(100.0)
+                .organisateur(client)
+                .statut(StatutEvent.PUBLIE)
+                .build());
+
+        LocalDateTime first = LocalDateTime.now().minusDays(1);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            reservations.add(Reservation.builder()
+                    .utilisateur(client)
+                    .evenement(event)
+                    .nombrePlaces(1)
+                    .statut(StatutReservation.CONFIRMEE)
+                    .codeReservation(codeGenerator.nextCode())
+                    .dateReservation(first.plusMinutes(i))
+                    .build());
+        }
+        reservationRepository.saveAll(reservations);
+
+        // Reference order: the whole listing read in one page
+        List<Reservation> all = reservationService.findReservationsAt(null, nom, Sort.Direction.ASC, 0, 20);
+        List<Long> ids = idsOf(all);
+
+        assertEquals(ids.subList(3, 7), idsOf(reservationService.findReservationsAt(null, nom,
+                Sort.Direction.ASC, 3, 4)));
+        assertEquals(ids.subList(0, 4), idsOf(reservationService.findReservationsAt(null, nom,
+                Sort.Direction.ASC, 0, 4)));
+        // Matches the keyset page following the same row
+        Reservation before = all.get(2);
+        assertEquals(ids.subList(3, 7), idsOf(reservationService.findReservationsAfter(null, nom,
+                Sort.Direction.ASC, before.getDateReservation(), before.getId(), 4)));
+    }
+
+    private static List<Long> idsOf(List<Reservation> reservations) {
+        return reservations.stream().map(Reservation::getId).toList();
+    }
+}
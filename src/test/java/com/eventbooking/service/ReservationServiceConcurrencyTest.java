@@ -0,0 +1,328 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.Reservation;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.Role;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.exception.BusinessException;
+import com.eventbooking.exception.ConflictException;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EventBookingApplication.class)
+class ReservationServiceConcurrencyTest {
+
+    private static final int CAPACITY = 200;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FlashSaleService flashSaleService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SeatInventoryReconciler seatInventoryReconciler;
+
+    @Test
+    void concurrentBookingsNeverOversell() throws Exception {
+        User client = createClient();
+        Event event = createEvent(client, "Derby sous pression");
+
+        int bookedPlaces = hammer(client, event);
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        int persistedPlaces = reservationRepository.calculateTotalReservedPlaces(reloaded);
+
+        assertTrue(persistedPlaces <= CAPACITY, "oversold: " + persistedPlaces + " > " + CAPACITY);
+        assertEquals(bookedPlaces, persistedPlaces);
+        assertEquals(persistedPlaces, reloaded.getPlacesReservees());
+    }
+
+    @Test
+    void flashSaleBookingsNeverOversell() throws Exception {
+        User client = createClient();
+        Event event = createEvent(client, "Vente flash sous pression");
+        flashSaleService.enable(event.getId());
+
+        // The buyer is answered once the write-behind batch has committed
+        Reservation confirmed = reservationService.createReservation(Reservation.builder()
+                .utilisateur(client)
+                .evenement(event)
+                .nombrePlaces(1)
+                .build());
+        assertTrue(reservationRepository.existsById(confirmed.getId()));
+
+        int bookedPlaces = 1 + hammer(client, event);
+        flashSaleService.disable(event.getId());
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        int persistedPlaces = reservationRepository.calculateTotalReservedPlaces(reloaded);
+
+        assertEquals(0, flashSaleService.getQueueDepth());
+        assertTrue(persistedPlaces <= CAPACITY, "oversold: " + persistedPlaces + " > " + CAPACITY);
+        assertEquals(bookedPlaces, persistedPlaces);
+        assertEquals(persistedPlaces, reloaded.getPlacesReservees());
+    }
+
+    @Test
+    void flashSaleLedgerIsCreditedOnlyOnceTheCancellationCommits() {
+        User client = createClient();
+        Event event = createEvent(client, "Vente flash annulée", 10);
+        flashSaleService.enable(event.getId());
+        try {
+            Reservation reservation = reservationService.createReservation(Reservation.builder()
+                    .utilisateur(client)
+                    .evenement(event)
+                    .nombrePlaces(2)
+                    .build());
+            assertEquals(8, flashSaleService.getAvailablePlaces(event.getId()));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                reservationService.cancelReservation(reservation.getId());
+                assertEquals(8, flashSaleService.getAvailablePlaces(event.getId()));
+                status.setRollbackOnly();
+            });
+            assertEquals(8, flashSaleService.getAvailablePlaces(event.getId()));
+
+            reservationService.cancelReservation(reservation.getId());
+            assertEquals(10, flashSaleService.getAvailablePlaces(event.getId()));
+        } finally {
+            flashSaleService.disable(event.getId());
+        }
+    }
+
+    @Test
+    void groupBookingIsAllOrNothing() {
+        User client = createClient();
+        Event first = createEvent(client, "Concert de groupe");
+        Event second = createEvent(client, "Match de groupe", 5);
+
+        assertThrows(BusinessException.class, () -> reservationService.createReservations(client, List.of(
+                new ReservationService.ReservationRequest(first.getId(), 4, null),
+                new ReservationService.ReservationRequest(second.getId(), 6, null))));
+        assertEquals(0, eventRepository.findById(first.getId()).orElseThrow().getPlacesReservees());
+        assertEquals(0, eventRepository.findById(second.getId()).orElseThrow().getPlacesReservees());
+
+        List<Reservation> created = reservationService.createReservations(client, List.of(
+                new ReservationService.ReservationRequest(first.getId(), 4, null),
+                new ReservationService.ReservationRequest(second.getId(), 5, null)));
+        assertEquals(2, created.size());
+        assertEquals(4, eventRepository.findById(first.getId()).orElseThrow().getPlacesReservees());
+        assertEquals(5, eventRepository.findById(second.getId()).orElseThrow().getPlacesReservees());
+    }
+
+    @Test
+    void heldSeatsAreReservedForTheirHolder() {
+        User client = createClient();
+        Event event = createEvent(client, "Théâtre complet", 5);
+
+        String holdId = seatHoldService.hold(client.getId(), "session", event.getId(), 4);
+        assertEquals(1, reservationService.createReservation(Reservation.builder()
+                .utilisateur(client)
+                .evenement(event)
+                .nombrePlaces(1)
+                .build()).getNombrePlaces());
+        assertThrows(BusinessException.class, () -> reservationService.createReservation(Reservation.builder()
+                .utilisateur(client)
+                .evenement(event)
+                .nombrePlaces(1)
+                .build()));
+
+        reservationService.createReservation(Reservation.builder()
+                .utilisateur(client)
+                .evenement(event)
+                .nombrePlaces(4)
+                .build(), holdId);
+        assertEquals(0, seatHoldService.getHeldPlaces(event.getId()));
+        assertEquals(5, eventRepository.findById(event.getId()).orElseThrow().getPlacesReservees());
+    }
+
+    @Test
+    void flashSaleBookingReleasesTheBuyersHold() {
+        User client = createClient();
+        Event event = createEvent(client, "Vente flash après réservation", 5);
+        String holdId = seatHoldService.hold(client.getId(), "session", event.getId(), 3);
+
+        flashSaleService.enable(event.getId());
+        try {
+            reservationService.createReservation(Reservation.builder()
+                    .utilisateur(client)
+                    .evenement(event)
+                    .nombrePlaces(3)
+                    .build(), holdId);
+            assertEquals(0, seatHoldService.getHeldPlaces(event.getId()));
+            assertEquals(2, flashSaleService.getAvailablePlaces(event.getId()));
+        } finally {
+            flashSaleService.disable(event.getId());
+        }
+    }
+
+    @Test
+    void retriedSubmissionReturnsTheOriginalReservation() throws Exception {
+        User client = createClient();
+        Event event = createEvent(client, "Double clic au guichet");
+        String key = UUID.randomUUID().toString();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<String>> codes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            codes.add(executor.submit(() -> {
+                try {
+                    return reservationService.createReservation(Reservation.builder()
+                            .utilisateur(client)
+                            .evenement(event)
+                            .nombrePlaces(2)
+                            .cleIdempotence(key)
+                            .build()).getCodeReservation();
+                } catch (ConflictException e) {
+                    return null;
+                }
+            }));
+        }
+        executor.shutdown();
+        for (Future<String> code : codes) {
+            code.get(30, TimeUnit.SECONDS);
+        }
+
+        String retried = reservationService.createReservation(Reservation.builder()
+                .utilisateur(client)
+                .evenement(event)
+                .nombrePlaces(2)
+                .cleIdempotence(key)
+                .build()).getCodeReservation();
+
+        assertEquals(retried, reservationRepository.findByCleIdempotence(key).orElseThrow().getCodeReservation());
+        assertEquals(2, eventRepository.findById(event.getId()).orElseThrow().getPlacesReservees());
+    }
+
+    @Test
+    void reconcilerRebuildsADriftedCounter() {
+        User client = createClient();
+        Event event = createEvent(client, "Compteur à la dérive");
+        reservationService.createReservation(Reservation.builder()
+                .utilisateur(client)
+                .evenement(event)
+                .nombrePlaces(3)
+                .build());
+        eventRepository.adjustPlacesReservees(event.getId(), 5);
+
+        List<SeatInventoryReconciler.CounterDrift> drifts = seatInventoryReconciler.reconcile().stream()
+                .filter(d -> d.eventId().equals(event.getId()))
+                .toList();
+
+        assertEquals(List.of(new SeatInventoryReconciler.CounterDrift(event.getId(), event.getTitre(), 8, 3)),
+                drifts);
+        assertEquals(3, eventRepository.findById(event.getId()).orElseThrow().getPlacesReservees());
+        assertTrue(seatInventoryReconciler.reconcile().stream().noneMatch(d -> d.eventId().equals(event.getId())));
+    }
+
+    private User createClient() {
+        return userRepository.save(User.builder()
+                .nom("Concurrent")
+                .prenom("Client")
+                .email("concurrent-" + System.nanoTime() + "@event.ma")
+                .password("password123")
+                .role(Role.CLIENT)
+                .build());
+    }
+
+    private Event createEvent(User organizer, String titre) {
+        return createEvent(organizer, titre, CAPACITY);
+    }
+
+    private Event createEvent(User organizer, String titre, int capacity) {
+        return eventRepository.save(Event.builder()
+                .titre(titre)
+                .categorie(Categorie.SPORT)
+                .dateDebut(LocalDateTime.now().plusDays(10))
+                .dateFin(LocalDateTime.now().plusDays(10).plusHours(2))
+                .lieu("Stade Mohammed V")
+                .ville("Casablanca")
+                .capaciteMax(capacity)
+                .prixUnitaire(100.0)
+                .organisateur(organizer)
+                .statut(StatutEvent.PUBLIE)
+                .build());
+    }
+
+    /**
+     * Book the event from many threads until demand exceeds capacity, return the places booked
+     */
+    private int hammer(User client, Event event) throws Exception {
+        AtomicInteger bookedPlaces = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    int places = ThreadLocalRandom.current().nextInt(1, 4);
+                    try {
+                        reservationService.createReservation(Reservation.builder()
+                                .utilisateur(client)
+                                .evenement(event)
+                                .nombrePlaces(places)
+                                .build());
+                        bookedPlaces.addAndGet(places);
+                    } catch (BusinessException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(rejected.get() > 0, "demand should exceed capacity");
+        return bookedPlaces.get();
+    }
+}
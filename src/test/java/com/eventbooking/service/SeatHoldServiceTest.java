@@ -0,0 +1,75 @@
+package com.eventbooking.service;
+
+import com.eventbooking.exception.BusinessException;
+import com.eventbooking.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class SeatHoldServiceTest {
+
+    private SeatHoldService service;
+    private FlashSaleService flashSaleService;
+
+    @BeforeEach
+    void setUp() {
+        EventRepository repository = Mockito.mock(EventRepository.class);
+        when(repository.findPlacesDisponibles(anyLong())).thenReturn(100);
+        flashSaleService = Mockito.mock(FlashSaleService.class);
+        service = new SeatHoldService(repository, flashSaleService,
+                Mockito.mock(ApplicationEventPublisher.class), 120, 1000, 3, 2);
+    }
+
+    @Test
+    void capsTheHoldsOfASession() {
+        service.hold(1L, "session", 10L, 2);
+        String second = service.hold(1L, "session", 11L, 2);
+        assertThrows(BusinessException.class, () -> service.hold(1L, "session", 12L, 2));
+
+        // Releasing a hold makes room for another one
+        service.release(second);
+        service.hold(1L, "session", 12L, 2);
+        assertEquals(2, service.getActiveHoldCount());
+    }
+
+    @Test
+    void capsTheHoldsOfAUserAcrossSessions() {
+        service.hold(1L, "laptop", 10L, 1);
+        service.hold(1L, "laptop", 11L, 1);
+        service.hold(1L, "phone", 12L, 1);
+        assertThrows(BusinessException.class, () -> service.hold(1L, "tablet", 13L, 1));
+
+        // Another user is not affected
+        service.hold(2L, "tablet", 13L, 1);
+        assertEquals(4, service.getActiveHoldCount());
+    }
+
+    @Test
+    void movingAHoldToAnotherEventDoesNotCountTwice() {
+        String holdId = service.hold(1L, "session", 10L, 2);
+        holdId = service.updateHold(holdId, 1L, "session", 11L, 3);
+        service.hold(1L, "session", 12L, 1);
+
+        assertEquals(0, service.getHeldPlaces(10L));
+        assertEquals(3, service.getHeldPlaces(11L));
+        assertEquals(2, service.getActiveHoldCount());
+    }
+
+    @Test
+    void holdsAreGivenBackOnceTheEventGoesIntoFlashSale() {
+        String holdId = service.hold(1L, "session", 10L, 2);
+        when(flashSaleService.isActive(10L)).thenReturn(true);
+
+        assertNull(service.hold(2L, "other", 10L, 2));
+        assertNull(service.updateHold(holdId, 1L, "session", 10L, 3));
+        assertEquals(0, service.getHeldPlaces(10L));
+        assertEquals(0, service.getActiveHoldCount());
+    }
+}
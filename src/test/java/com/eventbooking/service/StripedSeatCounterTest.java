@@ -0,0 +1,71 @@
+package com.eventbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedSeatCounterTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 500;
+    // Small capacities, so most claims are larger than any shard and are gathered from several
+    private static final int SEATS_PER_CLAIM = 7;
+
+    @Test
+    void claimsSpanningShardsNeverOversell() {
+        StripedSeatCounter counter = new StripedSeatCounter(10);
+
+        assertTrue(counter.tryClaim(9));
+        assertFalse(counter.tryClaim(2));
+        assertEquals(1, counter.available());
+
+        counter.release(5);
+        assertTrue(counter.tryClaim(6));
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    void concurrentClaimsSellTheWholeCapacity() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                long capacity = SEATS_PER_CLAIM * (4L + round % 16);
+                StripedSeatCounter counter = new StripedSeatCounter(capacity);
+                AtomicLong sold = new AtomicLong();
+                CountDownLatch start = new CountDownLatch(1);
+
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        // Every claim divides the capacity: a refusal is only right once all seats are sold
+                        while (counter.tryClaim(SEATS_PER_CLAIM)) {
+                            sold.addAndGet(SEATS_PER_CLAIM);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+
+                assertEquals(capacity, sold.get(), "seats left unsold in round " + round);
+                assertEquals(0, counter.available());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
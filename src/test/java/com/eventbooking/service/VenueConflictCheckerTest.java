@@ -0,0 +1,113 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.service.VenueConflictChecker.Conflict;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VenueConflictCheckerTest {
+
+    private static final LocalDateTime EVENING = LocalDateTime.of(2026, 5, 16, 20, 0);
+
+    private VenueConflictChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        checker = new VenueConflictChecker(Mockito.mock(EventRepository.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findsOverlappingBookingsOfTheSameVenue() {
+        index(1L, "Palais des Congrès", "Marrakech", EVENING, EVENING.plusHours(3), StatutEvent.PUBLIE);
+        index(2L, "Palais des Congrès", "Rabat", EVENING, EVENING.plusHours(3), StatutEvent.PUBLIE);
+        index(3L, "Palais des Congrès", "Marrakech", EVENING.plusHours(3), EVENING.plusHours(5),
+                StatutEvent.PUBLIE);
+        index(4L, "Palais des Congrès", "Marrakech", EVENING, EVENING.plusHours(1), StatutEvent.BROUILLON);
+
+        assertEquals(List.of(1L), checker.conflicts(null, "palais des congres", "MARRAKECH",
+                EVENING.plusHours(2), EVENING.plusHours(3)));
+        // Back-to-back bookings do not clash, nor does an event with itself
+        assertEquals(List.of(), checker.conflicts(3L, "Palais des Congrès", "Marrakech",
+                EVENING.plusHours(3), EVENING.plusHours(4)));
+        assertEquals(List.of(3L), checker.conflicts(null, "Palais des Congrès", "Marrakech",
+                EVENING.plusHours(4), EVENING.plusHours(6)));
+    }
+
+    @Test
+    void releasesTheVenueWhenAnEventIsNoLongerPublished() {
+        index(1L, "Théâtre Mohammed V", "Rabat", EVENING, EVENING.plusHours(2), StatutEvent.PUBLIE);
+        index(1L, "Théâtre Mohammed V", "Rabat", EVENING, EVENING.plusHours(2), StatutEvent.ANNULE);
+        assertEquals(List.of(), checker.conflicts(null, "Théâtre Mohammed V", "Rabat",
+                EVENING, EVENING.plusHours(1)));
+
+        index(2L, "Théâtre Mohammed V", "Rabat", EVENING, EVENING.plusHours(2), StatutEvent.PUBLIE);
+        checker.removeAfterCommit(2L);
+        assertEquals(0, checker.size());
+    }
+
+    @Test
+    void listsEveryExistingConflictOnce() {
+        index(1L, "Stade Mohammed V", "Casablanca", EVENING, EVENING.plusHours(2), StatutEvent.PUBLIE);
+        index(2L, "Stade Mohammed V", "Casablanca", EVENING.plusHours(1), EVENING.plusHours(3),
+                StatutEvent.PUBLIE);
+        index(3L, "Stade Mohammed V", "Casablanca", EVENING.minusDays(1), EVENING.plusDays(1),
+                StatutEvent.PUBLIE);
+        index(4L, "Complexe Mohammed V", "Casablanca", EVENING, EVENING.plusHours(2), StatutEvent.PUBLIE);
+
+        List<Conflict> conflicts = checker.findAllConflicts().stream()
+                .sorted(Comparator.comparing(Conflict::eventId).thenComparing(Conflict::otherEventId))
+                .toList();
+        assertEquals(List.of(new Conflict(1L, 2L), new Conflict(3L, 1L), new Conflict(3L, 2L)), conflicts);
+    }
+
+    @Test
+    void holdsAReservedVenueUntilTheTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(List.of(), checker.reserve(1L, "Théâtre Mohammed V", "Rabat", EVENING, EVENING.plusHours(2)));
+        List<TransactionSynchronization> first = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // A concurrent publication of the same slot loses, before the first one commits
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(List.of(1L), checker.reserve(2L, "Théâtre Mohammed V", "Rabat",
+                EVENING.plusHours(1), EVENING.plusHours(3)));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Rolled back: the venue is free again
+        first.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(List.of(), checker.conflicts(2L, "Théâtre Mohammed V", "Rabat",
+                EVENING.plusHours(1), EVENING.plusHours(3)));
+        assertEquals(0, checker.size());
+    }
+
+    private void index(Long id, String lieu, String ville, LocalDateTime start, LocalDateTime end,
+            StatutEvent statut) {
+        checker.indexAfterCommit(Event.builder()
+                .id(id)
+                .lieu(lieu)
+                .ville(ville)
+                .dateDebut(start)
+                .dateFin(end)
+                .statut(statut)
+                .build());
+    }
+}
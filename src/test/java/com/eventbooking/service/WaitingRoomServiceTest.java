@@ -0,0 +1,62 @@
+package com.eventbooking.service;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.service.WaitingRoomService.Ticket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class WaitingRoomServiceTest {
+
+    private WaitingRoomService service;
+
+    @BeforeEach
+    void setUp() {
+        EventRepository repository = Mockito.mock(EventRepository.class);
+        when(repository.findById(1L)).thenReturn(Optional.of(Event.builder()
+                .id(1L)
+                .titre("Concert complet")
+                .statut(StatutEvent.PUBLIE)
+                .build()));
+        service = new WaitingRoomService(repository, 50);
+    }
+
+    @Test
+    void admitsTicketsUpToTheWatermark() throws InterruptedException {
+        service.open(1L, 1000);
+        Ticket first = service.join(1L);
+        assertFalse(service.isAdmitted(1L, first));
+        assertFalse(service.isAdmitted(1L, null));
+
+        Thread.sleep(20);
+        service.admit();
+        assertTrue(service.isAdmitted(1L, first));
+        assertEquals(0, service.getPosition(1L, first));
+    }
+
+    @Test
+    void ticketsOfAnEarlierOpeningAreNoLongerValid() throws InterruptedException {
+        service.open(1L, 1000);
+        Ticket stale = service.join(1L);
+        Thread.sleep(20);
+        service.admit();
+        assertTrue(service.isAdmitted(1L, stale));
+
+        service.close(1L);
+        assertTrue(service.isAdmitted(1L, stale));
+        service.open(1L, 1000);
+
+        assertFalse(service.isCurrent(1L, stale));
+        assertFalse(service.isAdmitted(1L, stale));
+        assertTrue(service.isCurrent(1L, service.join(1L)));
+    }
+}
@@ -0,0 +1,150 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.Reservation;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.domain.entity.WaitlistEntry;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.Role;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.StatutListeAttente;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.UserRepository;
+import com.eventbooking.repository.WaitlistRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(classes = EventBookingApplication.class)
+class WaitlistServiceTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private FlashSaleService flashSaleService;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void releasedPlacesGoToTheFirstWaitersThatFit() {
+        User holder = createClient("holder");
+        User big = createClient("big");
+        User small = createClient("small");
+        User late = createClient("late");
+        Event event = createEvent(holder, 3);
+
+        Reservation reservation = reservationService.createReservation(Reservation.builder()
+                .utilisateur(holder)
+                .evenement(event)
+                .nombrePlaces(3)
+                .build());
+
+        WaitlistEntry bigEntry = waitlistService.join(big, event.getId(), 4);
+        WaitlistEntry smallEntry = waitlistService.join(small, event.getId(), 2);
+        WaitlistEntry lateEntry = waitlistService.join(late, event.getId(), 2);
+
+        reservationService.cancelReservation(reservation.getId());
+        waitlistService.promoteWaiters();
+
+        assertEquals(StatutListeAttente.EN_ATTENTE, statut(bigEntry));
+        assertEquals(StatutListeAttente.PROMUE, statut(smallEntry));
+        assertEquals(StatutListeAttente.EN_ATTENTE, statut(lateEntry));
+        assertNotNull(waitlistRepository.findById(smallEntry.getId()).orElseThrow().getCodeReservation());
+        assertEquals(2, eventRepository.findById(event.getId()).orElseThrow().getPlacesReservees());
+    }
+
+    @Test
+    void waitersLeftByAPreviousRunArePromotedAfterStartup() {
+        User organizer = createClient("organizer");
+        User waiter = createClient("waiter");
+        Event event = createEvent(organizer, 3);
+
+        // Saved without join: nothing in memory knows this event has waiters, as after a restart
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .utilisateur(waiter)
+                .evenement(event)
+                .nombrePlaces(2)
+                .statut(StatutListeAttente.EN_ATTENTE)
+                .build());
+        waitlistService.promoteWaiters();
+        assertEquals(StatutListeAttente.EN_ATTENTE, statut(entry));
+
+        waitlistService.markPendingEvents();
+        waitlistService.promoteWaiters();
+        assertEquals(StatutListeAttente.PROMUE, statut(entry));
+    }
+
+    @Test
+    void promotionIsHeldWhileTheEventIsInFlashSaleMode() {
+        User holder = createClient("flash-holder");
+        User waiter = createClient("flash-waiter");
+        Event event = createEvent(holder, 2);
+
+        Reservation reservation = reservationService.createReservation(Reservation.builder()
+                .utilisateur(holder)
+                .evenement(event)
+                .nombrePlaces(2)
+                .build());
+        WaitlistEntry entry = waitlistService.join(waiter, event.getId(), 2);
+
+        flashSaleService.enable(event.getId());
+        try {
+            reservationService.cancelReservation(reservation.getId());
+            waitlistService.promoteWaiters();
+            assertEquals(StatutListeAttente.EN_ATTENTE, statut(entry));
+        } finally {
+            flashSaleService.disable(event.getId());
+        }
+
+        // Still dirty: promoted from the database once the sale is over
+        waitlistService.promoteWaiters();
+        assertEquals(StatutListeAttente.PROMUE, statut(entry));
+        assertEquals(2, eventRepository.findById(event.getId()).orElseThrow().getPlacesReservees());
+    }
+
+    private StatutListeAttente statut(WaitlistEntry entry) {
+        return waitlistRepository.findById(entry.getId()).orElseThrow().getStatut();
+    }
+
+    private User createClient(String name) {
+        return userRepository.save(User.builder()
+                .nom(name)
+                .prenom("Client")
+                .email(name + "-" + System.nanoTime() + "@event.ma")
+                .password("password123")
+                .role(Role.CLIENT)
+                .build());
+    }
+
+    private Event createEvent(User organizer, int capacity) {
+        return eventRepository.save(Event.builder()
+                .titre("Concert complet")
+                .categorie(Categorie.CONCERT)
+                .dateDebut(LocalDateTime.now().plusDays(10))
+                .dateFin(LocalDateTime.now().plusDays(10).plusHours(2))
+                .lieu("Théâtre Mohammed V")
+                .ville("Rabat")
+                .capaciteMax(capacity)
+                .prixUnitaire(200.0)
+                .organisateur(organizer)
+                .statut(StatutEvent.PUBLIE)
+                .build());
+    }
+}
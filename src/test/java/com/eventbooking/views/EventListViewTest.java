@@ -0,0 +1,119 @@
+package com.eventbooking.views;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.domain.enums.StatutEvent;
+import com.eventbooking.domain.enums.TranchePrix;
+import com.eventbooking.service.EventFacetService;
+import com.eventbooking.service.EventFacetService.EventFacets;
+import com.eventbooking.service.EventSearchIndex.Cursor;
+import com.eventbooking.service.EventService;
+import com.eventbooking.service.EventService.NearbyEvent;
+import com.eventbooking.service.EventService.TextSearchPage;
+import com.eventbooking.service.PlaceAutocomplete;
+import com.eventbooking.service.PlaceAutocomplete.VilleSuggestion;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventListViewTest {
+
+    private EventService eventService;
+    private PlaceAutocomplete placeAutocomplete;
+    private EventListView view;
+
+    @BeforeEach
+    void setUp() {
+        eventService = Mockito.mock(EventService.class);
+        placeAutocomplete = Mockito.mock(PlaceAutocomplete.class);
+        EventFacetService eventFacetService = Mockito.mock(EventFacetService.class);
+        when(eventFacetService.getFacets(any(), any(), any())).thenReturn(new EventFacets(Map.of(),
+                Map.of(TranchePrix.MOINS_100, 3L, TranchePrix.PLUS_500, 1L), 4));
+        view = new EventListView(eventService, eventFacetService, placeAutocomplete);
+    }
+
+    @Test
+    void resumesFullTextPagesAfterTheLastHitServed() {
+        // Every page is full, and its cursor is made of the last offset it covers
+        when(eventService.findTextMatches(eq("jazz"), eq(StatutEvent.PUBLIE), any(), isNull(), any(), anyInt(),
+                anyInt())).thenAnswer(invocation -> {
+                    int offset = invocation.getArgument(5);
+                    int limit = invocation.getArgument(6);
+                    List<Event> events = LongStream.range(offset, offset + limit)
+                            .mapToObj(id -> Event.builder().id(id).titre("Événement " + id).build())
+                            .toList();
+                    return new TextSearchPage(events, new Cursor(1f, offset + limit));
+                });
+        ViewComponents.<TextField>find(view, TextField.class, "Rechercher").setValue("jazz");
+
+        fetch(0, 3);
+        fetch(3, 3);
+        verify(eventService).findTextMatches("jazz", StatutEvent.PUBLIE, null, null, null, 0, 3);
+        verify(eventService).findTextMatches("jazz", StatutEvent.PUBLIE, null, null, new Cursor(1f, 3), 3, 3);
+
+        // A page never reached falls back to the offset, as does every page once the filters change
+        fetch(9, 3);
+        verify(eventService).findTextMatches("jazz", StatutEvent.PUBLIE, null, null, null, 9, 3);
+        ViewComponents.<ComboBox<Categorie>>find(view, ComboBox.class, "Catégorie").setValue(Categorie.SPORT);
+        fetch(3, 3);
+        verify(eventService).findTextMatches("jazz", StatutEvent.PUBLIE, Categorie.SPORT, null, null, 3, 3);
+    }
+
+    @Test
+    void labelsCitiesWithTheCountsOfTheirSuggestions() {
+        when(placeAutocomplete.suggestVilles(eq(""), isNull(), anyInt())).thenReturn(List.of(
+                new VilleSuggestion("Rabat", 3), new VilleSuggestion("Fès", 1)));
+        when(placeAutocomplete.suggestVilles(eq(""), eq(Categorie.SPORT), anyInt())).thenReturn(List.of(
+                new VilleSuggestion("Rabat", 2)));
+        ComboBox<String> villes = ViewComponents.find(view, ComboBox.class, "Ville");
+
+        assertEquals(List.of("Rabat (3)", "Fès (1)"), labels(villes));
+
+        ViewComponents.<ComboBox<Categorie>>find(view, ComboBox.class, "Catégorie").setValue(Categorie.SPORT);
+        assertEquals(List.of("Rabat (2)"), labels(villes));
+        assertEquals("Fès (0)", villes.getItemLabelGenerator().apply("Fès"));
+    }
+
+    @Test
+    void showsThePriceRangesOfTheFacets() {
+        assertEquals(List.of("Prix : Moins de 100 DH (3) · 100 à 300 DH (0) · 300 à 500 DH (0) · 500 DH et plus (1)"),
+                ViewComponents.findAll(view, Span.class).stream()
+                        .map(Span::getText)
+                        .filter(text -> text.startsWith("Prix"))
+                        .toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fetch(int offset, int limit) {
+        Grid<NearbyEvent> grid = ViewComponents.find(view, Grid.class);
+        ((DataProvider<NearbyEvent, Void>) grid.getDataProvider())
+                .fetch(new Query<>(offset, limit, List.of(), null, null))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> labels(ComboBox<String> comboBox) {
+        return ((DataProvider<String, String>) comboBox.getDataProvider())
+                .fetch(new Query<>(0, 10, List.of(), null, ""))
+                .map(comboBox.getItemLabelGenerator())
+                .toList();
+    }
+}
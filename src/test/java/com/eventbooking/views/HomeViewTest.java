@@ -0,0 +1,43 @@
+package com.eventbooking.views;
+
+import com.eventbooking.domain.enums.Categorie;
+import com.eventbooking.service.HomepageSnapshotService;
+import com.eventbooking.service.HomepageSnapshotService.HomepageEvent;
+import com.eventbooking.service.HomepageSnapshotService.HomepageSnapshot;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.H3;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+class HomeViewTest {
+
+    @Test
+    void rendersTheSnapshotSections() {
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+        HomepageSnapshotService service = Mockito.mock(HomepageSnapshotService.class);
+        when(service.getSnapshot()).thenReturn(new HomepageSnapshot(
+                List.of(new HomepageEvent(1L, "Festival Gnaoua", Categorie.THEATRE, "Essaouira", 200.0, start)),
+                Map.of(Categorie.CONCERT, 5L),
+                List.of(new HomepageEvent(2L, "Nuit du jazz", Categorie.CONCERT, "Rabat", 100.0, start)),
+                Instant.now()));
+
+        HomeView view = new HomeView(service);
+
+        assertEquals(List.of("Festival Gnaoua", "Nuit du jazz"),
+                ViewComponents.findAll(view, H3.class).stream().map(H3::getText).toList());
+        // Only categories with published events get a button
+        assertEquals(List.of(Categorie.CONCERT.getIcon() + " " + Categorie.CONCERT.getLabel() + " (5)"),
+                ViewComponents.findAll(view, Button.class).stream()
+                        .map(Button::getText)
+                        .filter(text -> text.endsWith(")"))
+                        .toList());
+    }
+}
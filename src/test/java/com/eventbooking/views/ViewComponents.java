@@ -0,0 +1,51 @@
+package com.eventbooking.views;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasLabel;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Lookups in a view's component tree, for tests driving views without a browser
+ */
+public final class ViewComponents {
+
+    private ViewComponents() {
+    }
+
+    /**
+     * The only component of a type below a root
+     */
+    public static <T extends Component> T find(Component root, Class<T> type) {
+        return single(descendants(root).filter(type::isInstance).map(type::cast), type.getSimpleName());
+    }
+
+    /**
+     * The only component of a type with a given label below a root
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Component & HasLabel> T find(Component root, Class<?> type, String label) {
+        return single(descendants(root)
+                .filter(type::isInstance)
+                .map(component -> (T) component)
+                .filter(component -> label.equals(component.getLabel())), label);
+    }
+
+    /**
+     * Every component of a type below a root, in tree order
+     */
+    public static <T extends Component> List<T> findAll(Component root, Class<T> type) {
+        return descendants(root).filter(type::isInstance).map(type::cast).toList();
+    }
+
+    private static Stream<Component> descendants(Component root) {
+        return Stream.concat(Stream.of(root), root.getChildren().flatMap(ViewComponents::descendants));
+    }
+
+    private static <T> T single(Stream<T> matches, String description) {
+        return matches.reduce((a, b) -> {
+            throw new IllegalStateException("Several components match " + description);
+        }).orElseThrow(() -> new IllegalStateException("No component matches " + description));
+    }
+}
@@ -0,0 +1,88 @@
+package com.eventbooking.views.admin;
+
+import com.eventbooking.domain.entity.Reservation;
+import com.eventbooking.domain.enums.StatutReservation;
+import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.ReservationService.ReservationTotals;
+import com.eventbooking.views.ViewComponents;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AllReservationsViewTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private ReservationService reservationService;
+    private AllReservationsView view;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = Mockito.mock(ReservationService.class);
+        when(reservationService.getReservationTotals()).thenReturn(new ReservationTotals(0, 0, 0, 0, 0, 0));
+        view = new AllReservationsView(reservationService);
+    }
+
+    @Test
+    void seeksEachPageFromTheLastRowOfThePreviousOne() {
+        when(reservationService.findReservationsAfter(any(), any(), any(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(reservation(1L), reservation(2L)));
+        when(reservationService.findReservationsAfter(any(), any(), any(), eq(NOW.minusMinutes(2)), eq(2L),
+                anyInt())).thenReturn(List.of(reservation(3L), reservation(4L)));
+
+        assertEquals(List.of(1L, 2L), fetch(0, 2));
+        assertEquals(List.of(3L, 4L), fetch(2, 2));
+        verify(reservationService).findReservationsAfter(null, "", Sort.Direction.DESC, null, null, 2);
+        verify(reservationService).findReservationsAfter(null, "", Sort.Direction.DESC, NOW.minusMinutes(2), 2L, 2);
+    }
+
+    @Test
+    void jumpsToAnUnknownPageByOffsetAndForgetsTheKeysWhenFiltered() {
+        when(reservationService.findReservationsAfter(any(), any(), any(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(reservation(1L), reservation(2L)));
+        fetch(0, 2);
+
+        fetch(10, 2);
+        verify(reservationService).findReservationsAt(null, "", Sort.Direction.DESC, 10, 2);
+
+        ViewComponents.<ComboBox<StatutReservation>>find(view, ComboBox.class, "Filtrer par statut")
+                .setValue(StatutReservation.CONFIRMEE);
+        fetch(2, 2);
+        verify(reservationService).findReservationsAt(StatutReservation.CONFIRMEE, "", Sort.Direction.DESC, 2, 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> fetch(int offset, int limit) {
+        Grid<Reservation> grid = ViewComponents.find(view, Grid.class);
+        return ((DataProvider<Reservation, Void>) grid.getDataProvider())
+                .fetch(new Query<>(offset, limit, List.of(), null, null))
+                .map(Reservation::getId)
+                .toList();
+    }
+
+    // Rows listed most recent first, one minute apart
+    private static Reservation reservation(Long id) {
+        return Reservation.builder()
+                .id(id)
+                .dateReservation(NOW.minusMinutes(id))
+                .nombrePlaces(1)
+                .statut(StatutReservation.CONFIRMEE)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.eventbooking.views.client;
+
+import com.eventbooking.domain.entity.Event;
+import com.eventbooking.domain.entity.Reservation;
+import com.eventbooking.domain.entity.User;
+import com.eventbooking.exception.BusinessException;
+import com.eventbooking.security.SecurityService;
+import com.eventbooking.service.EventService;
+import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.SeatHoldService;
+import com.eventbooking.service.WaitlistService;
+import com.eventbooking.views.ViewComponents;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.textfield.IntegerField;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationFormViewTest {
+
+    private final ReservationService reservationService = Mockito.mock(ReservationService.class);
+    private final ArgumentCaptor<Reservation> submitted = ArgumentCaptor.forClass(Reservation.class);
+    // Current instances are weakly referenced: keep the UI reachable for the whole test
+    private final UI ui = new UI();
+    private ReservationFormView view;
+
+    @BeforeEach
+    void setUp() {
+        UI.setCurrent(ui);
+        VaadinSession.setCurrent(Mockito.mock(VaadinSession.class));
+
+        User client = User.builder().id(1L).nom("Client").build();
+        SecurityService securityService = Mockito.mock(SecurityService.class);
+        when(securityService.getAuthenticatedUser()).thenReturn(Optional.of(client));
+
+        Event event = Event.builder()
+                .id(7L)
+                .titre("Nuit du jazz")
+                .dateDebut(LocalDateTime.now().plusDays(10))
+                .lieu("Théâtre Mohammed V")
+                .ville("Rabat")
+                .capaciteMax(100)
+                .prixUnitaire(150.0)
+                .build();
+        EventService eventService = Mockito.mock(EventService.class);
+        when(eventService.findById(7L)).thenReturn(event);
+        when(eventService.calculateAvailableSeats(7L)).thenReturn(100);
+
+        view = new ReservationFormView(securityService, eventService, reservationService,
+                Mockito.mock(SeatHoldService.class), Mockito.mock(WaitlistService.class));
+        view.setParameter(null, 7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UI.setCurrent(null);
+        VaadinSession.setCurrent(null);
+    }
+
+    @Test
+    void successiveBookingsUseDistinctIdempotencyKeys() {
+        when(reservationService.createReservation(any(Reservation.class), isNull()))
+                .thenReturn(Reservation.builder().codeReservation("EVT-00001").build());
+
+        submit();
+        submit();
+
+        verify(reservationService, times(2)).createReservation(submitted.capture(), isNull());
+        List<String> keys = submitted.getAllValues().stream().map(Reservation::getCleIdempotence).toList();
+        assertNotEquals(keys.get(0), keys.get(1));
+    }
+
+    @Test
+    void aRetryKeepsTheKeyUntilTheFormChanges() {
+        when(reservationService.createReservation(any(Reservation.class), isNull()))
+                .thenThrow(new BusinessException("Nombre de places insuffisant"));
+
+        submit();
+        submit();
+        ViewComponents.find(view, IntegerField.class).setValue(2);
+        submit();
+
+        verify(reservationService, times(3)).createReservation(submitted.capture(), isNull());
+        List<String> keys = submitted.getAllValues().stream().map(Reservation::getCleIdempotence).toList();
+        assertEquals(keys.get(0), keys.get(1));
+        assertNotEquals(keys.get(1), keys.get(2));
+    }
+
+    private void submit() {
+        ViewComponents.findAll(view, Button.class).stream()
+                .filter(button -> "Confirmer la réservation".equals(button.getText()))
+                .findFirst()
+                .orElseThrow()
+                .click();
+    }
+}
@@ -1,9 +1,10 @@
 package com.example.management_project;
 
+import com.eventbooking.EventBookingApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(classes = EventBookingApplication.class)
 class ManagementProjectApplicationTests {
 
 	@Test